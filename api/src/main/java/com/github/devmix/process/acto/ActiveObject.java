@@ -40,6 +40,13 @@ public interface ActiveObject<T> {
      */
     Object getId();
 
+    /**
+     * Returns the current status of this active object.
+     *
+     * @return the status, {@link ActiveObjectStatus#DESTROYED} once the object has been destroyed
+     */
+    ActiveObjectStatus getStatus();
+
     /**
      * Returns the encapsulated instance managed by this active object.
      *
@@ -49,6 +56,8 @@ public interface ActiveObject<T> {
 
     /**
      * Asynchronously retrieves an attribute from the encapsulated instance using the provided {@link AttributeGetter}.
+     * A {@link com.github.devmix.process.acto.messages.SnapshotGetter} is applied to the latest published snapshot on
+     * the calling thread, if there is one.
      *
      * @param <R>    the type of the attribute to get
      * @param action the action that retrieves the attribute
@@ -151,6 +151,31 @@ public interface ActiveObjectContext<T> {
      */
     long getWaitMessagesTimeout();
 
+    /**
+     * Returns the maximum number of user messages waiting in the mailbox of this active object.
+     *
+     * @return The capacity of the mailbox, or 0 if the mailbox is unbounded
+     */
+    int getMailboxCapacity();
+
+    /**
+     * Returns the policy applied to new user messages when the mailbox is full.
+     *
+     * @return The overflow policy, or null if the mailbox is unbounded
+     */
+    @Nullable
+    MailboxOverflowPolicy getMailboxOverflowPolicy();
+
+    /**
+     * Limits the number of user messages waiting in the mailbox of this active object. System messages are
+     * never limited. Intended to be called when the object is created, e.g. from
+     * {@link com.github.devmix.process.acto.listeners.OnCreateListener}.
+     *
+     * @param capacity The maximum number of waiting user messages, 0 or less to make the mailbox unbounded
+     * @param policy   The policy applied to new user messages when the mailbox is full
+     */
+    void setMailboxCapacity(int capacity, MailboxOverflowPolicy policy);
+
     /**
      * Sets a new wait messages timeout for this active object.
      *
@@ -177,4 +202,34 @@ public interface ActiveObjectContext<T> {
      * @throws RegistryException if an error occurs during redirection
      */
     <R> CompletableFuture<R> redirectRequest(Object objectId, Object message) throws RegistryException;
+
+    /**
+     * Redirects a request to another active object resolved earlier by {@link #resolve(Object)} and forgets it.
+     *
+     * @param recipient The target active object
+     * @param message   The message to send
+     */
+    void redirectRequestAndForget(ActiveObject<?> recipient, Object message);
+
+    /**
+     * Redirects a request to another active object resolved earlier by {@link #resolve(Object)} and returns a future
+     * for its response. No lookup by the ID is made.
+     *
+     * @param <R>       The type of the response
+     * @param recipient The target active object
+     * @param message   The message to send
+     * @return A completable future representing the eventual response
+     */
+    <R> CompletableFuture<R> redirectRequest(ActiveObject<?> recipient, Object message);
+
+    /**
+     * Resolves another active object by its identifier. The returned handle stays valid until the object is
+     * destroyed, after that its status is {@link ActiveObjectStatus#DESTROYED} and requests fail.
+     *
+     * @param <R>      The type of the encapsulated instance
+     * @param objectId The identifier of the target active object
+     * @return The handle of the active object
+     * @throws RegistryException if no active object is found with the specified ID
+     */
+    <R> ActiveObject<R> resolve(Object objectId) throws RegistryException;
 }
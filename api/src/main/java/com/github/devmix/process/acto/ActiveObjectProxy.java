@@ -0,0 +1,55 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface of active objects whose proxy is generated at compile time by the annotation processor of the
+ * {@code devmix-process-acto-processor} module.
+ * <p>
+ * The generated class is named after the interface with the {@code ActiveProxy} suffix, nested interfaces are
+ * flattened with {@code _}, so {@code Outer.Account} becomes {@code Outer_AccountActiveProxy}. Every call of a method
+ * creates one message with typed fields instead of an array of arguments, a method without parameters reuses a single
+ * message. {@link ActiveObjectsDispatcher#proxy(ActiveObject, Class)} returns an instance of the generated class and
+ * falls back to a runtime proxy if the processor was not run:
+ * <pre>
+ * &#64;ActiveObjectProxy
+ * public interface Account {
+ *     void deposit(long amount);
+ *     CompletableFuture&lt;Long&gt; balance();
+ * }
+ * </pre>
+ *
+ * @author Sergey Grachev
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ActiveObjectProxy {
+
+    /**
+     * The suffix of the name of generated classes.
+     */
+    String SUFFIX = "ActiveProxy";
+}
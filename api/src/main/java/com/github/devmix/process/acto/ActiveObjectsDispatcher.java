@@ -74,6 +74,21 @@ public interface ActiveObjectsDispatcher {
      */
     <T> ActiveObject<T> getById(Object id);
 
+    /**
+     * Returns an implementation of an interface of the active object which turns calls of methods into messages.
+     * Methods returning void send a message without waiting for the result, methods returning
+     * {@link java.util.concurrent.CompletableFuture} or {@link java.util.concurrent.CompletionStage} send a request
+     * and complete with the result of the future returned by the instance. Interfaces marked with
+     * {@link ActiveObjectProxy} are implemented by the classes generated at compile time.
+     *
+     * @param <P>    The type of the interface.
+     * @param object The active object whose instance implements the interface.
+     * @param type   The interface, other return types of its methods are not supported.
+     * @return The proxy of the active object.
+     * @throws com.github.devmix.process.acto.exceptions.DispatchingException If the type is not a supported interface.
+     */
+    <P> P proxy(ActiveObject<? extends P> object, Class<P> type);
+
     /**
      * Returns the idle timeout for an active object in nanoseconds. The maximum value
      * that can be returned by this method is 106751 days.
@@ -114,6 +129,18 @@ public interface ActiveObjectsDispatcher {
      */
     <T, I, O> void registerLifecycle(Class<T> objectClass, ActiveObjectLifecycle<T> lifecycle);
 
+    /**
+     * Registers a mailbox capacity for the specified class type. It is applied to every active object of that type
+     * created after this call, and can still be changed by the object itself via
+     * {@link ActiveObjectContext#setMailboxCapacity(int, MailboxOverflowPolicy)}.
+     *
+     * @param <T>         The type of active object for which the capacity is being registered.
+     * @param objectClass The class type of the active objects for which this capacity will be used.
+     * @param capacity    The maximum number of waiting user messages, 0 or less to make the mailbox unbounded.
+     * @param policy      The policy applied to new user messages when the mailbox is full.
+     */
+    <T> void registerMailboxCapacity(Class<T> objectClass, int capacity, MailboxOverflowPolicy policy);
+
     /**
      * Shuts down all active objects managed by this dispatcher. If force is true, it will forcibly
      * terminate all active objects; otherwise, it will attempt to shut them down gracefully.
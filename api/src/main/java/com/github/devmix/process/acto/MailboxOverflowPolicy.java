@@ -0,0 +1,61 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto;
+
+/**
+ * Defines what happens with a new user message when the mailbox of an active object is full.
+ *
+ * <p>System messages (start, stop, idle, destroy, heartbeat) are never limited and never dropped.</p>
+ *
+ * @author Sergey Grachev
+ */
+public enum MailboxOverflowPolicy {
+
+    /**
+     * The caller is blocked until there is free space in the mailbox or the block timeout expires, then the message
+     * is rejected as with {@link #FAIL}. A message sent from a dispatching thread of any object or from an event loop
+     * is rejected at once, otherwise the thread which could drain the mailbox might wait for itself.
+     */
+    BLOCK,
+
+    /**
+     * The message is rejected: the returned future is completed with
+     * {@link com.github.devmix.process.acto.exceptions.MailboxOverflowException}, fire-and-forget calls throw it.
+     */
+    FAIL,
+
+    /**
+     * The new message is silently discarded, the returned future (if any) is completed with
+     * {@link com.github.devmix.process.acto.exceptions.MailboxOverflowException}.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest waiting user message is discarded to make room for the new one, the future of the discarded
+     * message (if any) is completed with {@link com.github.devmix.process.acto.exceptions.MailboxOverflowException}.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is merged with an equal message which is still waiting in the mailbox: both callers
+     * receive the result of a single processing. If there is no such message, the new one is rejected as with
+     * {@link #FAIL}.
+     */
+    COALESCE,
+}
@@ -0,0 +1,45 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.listeners;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method of an active object as the handler of messages of the type of its first parameter.
+ * <p>
+ * The method takes the message and optionally the {@link com.github.devmix.process.acto.ActiveObjectContext}, its
+ * result is the response to the message, {@code void} methods respond with null:
+ * <pre>
+ * &#64;OnMessage
+ * long onAdd(final Add message, final ActiveObjectContext&lt;Counter&gt; context) { ... }
+ * </pre>
+ * A message is handled by the method declared for its own class or, if there is none, for the closest superclass or
+ * interface. Messages without a handler are passed to {@link OnMessageListener}.
+ *
+ * @author Sergey Grachev
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface OnMessage {
+}
@@ -0,0 +1,51 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.listeners;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Functional interface that represents a listener for batches of messages.
+ * <p>
+ * User messages which are drained from the mailbox in one activation of the object are delivered together, so the
+ * handler can amortize expensive operations, e.g. write all of them to a database in one transaction. The size of
+ * a batch is limited by the throughput quota of the dispatcher. If the object implements {@link OnMessageListener}
+ * too, this listener takes precedence.
+ *
+ * @param <T> the type of object stored in the ActiveObjectContext
+ */
+@FunctionalInterface
+public interface OnMessageBatchListener<T> {
+
+    /**
+     * This method is called when a batch of object messages is received.
+     * <p>
+     * If the method throws an exception, all messages of the batch are failed with it.
+     *
+     * @param messages the messages in the order they were received, never empty
+     * @param context  the ActiveObjectContext in which the messages were received
+     * @return the responses to the messages in the same order,
+     * or null if there is no specific response required for any of them
+     */
+    @Nullable
+    List<?> onObjectMessages(List<Object> messages, ActiveObjectContext<T> context);
+}
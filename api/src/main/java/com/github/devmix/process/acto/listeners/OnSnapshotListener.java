@@ -0,0 +1,43 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.listeners;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents a listener which publishes immutable snapshots of an object for
+ * {@link com.github.devmix.process.acto.messages.SnapshotGetter} reads.
+ *
+ * @param <T> the type of the object handled by this listener
+ * @author Sergey Grachev
+ */
+public interface OnSnapshotListener<T> {
+
+    /**
+     * Called after the object has been started and after every message which may have changed the object. The
+     * snapshot is read by other threads concurrently, so it must not be changed after it has been returned.
+     *
+     * @param context the active object context containing the object and related data
+     * @return an immutable copy of the object, or null to process snapshot reads as ordinary messages
+     */
+    @Nullable
+    T onObjectSnapshot(ActiveObjectContext<T> context);
+}
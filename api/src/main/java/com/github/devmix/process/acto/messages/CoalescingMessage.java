@@ -0,0 +1,36 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.messages;
+
+/**
+ * Represents a message which may replace a waiting message with the same key when it is sent without waiting for the
+ * result to an object with a coalescing mailbox. Only the last message of a burst with the same key is processed, at
+ * the position of the first one.
+ *
+ * @author Sergey Grachev
+ */
+public interface CoalescingMessage {
+
+    /**
+     * Returns the key of the message.
+     *
+     * @return the key compared by {@link Object#equals(Object)}, or null if the message must not be coalesced
+     */
+    Object getCoalescingKey();
+}
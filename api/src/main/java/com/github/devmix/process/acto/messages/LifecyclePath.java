@@ -0,0 +1,136 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.messages;
+
+import com.github.devmix.process.acto.ActiveObject;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable path of objects from the root of a start or stop sequence, each element points to its parent, so all
+ * branches of the sequence share the common part of the path and extending it does not copy anything.
+ * <p>
+ * Every element keeps a small bloom filter of IDs of the whole path, most checks of objects which are not on the
+ * path do not walk it.
+ *
+ * @author Sergey Grachev
+ */
+public final class LifecyclePath {
+
+    /**
+     * The last object of the path.
+     */
+    @Getter
+    private final ActiveObject<?> object;
+
+    /**
+     * The path without the last object, null for the root.
+     */
+    @Getter
+    @Nullable
+    private final LifecyclePath parent;
+
+    /**
+     * The number of objects on the path.
+     */
+    @Getter
+    private final int length;
+
+    private final Object id;
+    private final long bloom;
+
+    private LifecyclePath(@Nullable final LifecyclePath parent, final ActiveObject<?> object) {
+        this.object = object;
+        this.parent = parent;
+        this.id = object.getId();
+        this.length = parent != null ? parent.length + 1 : 1;
+        this.bloom = (parent != null ? parent.bloom : 0) | bitOf(id);
+    }
+
+    /**
+     * Creates a path which continues the given one with the object.
+     *
+     * @param parent the path to continue, null to begin a new one
+     * @param object the object to add
+     * @return a new path, the parent is not changed
+     */
+    public static LifecyclePath extend(@Nullable final LifecyclePath parent, final ActiveObject<?> object) {
+        return new LifecyclePath(parent, object);
+    }
+
+    /**
+     * Checks whether an object with the ID is on the path.
+     *
+     * @param objectId the object ID to check
+     * @return true if the object is on the path
+     */
+    public boolean contains(final Object objectId) {
+        if ((bloom & bitOf(objectId)) == 0) {
+            return false;
+        }
+
+        for (var current = this; current != null; current = current.parent) {
+            if (current.id == objectId || current.id.equals(objectId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns IDs of the objects on the path, beginning with the root.
+     *
+     * @return a new array of IDs
+     */
+    public Object[] ids() {
+        final var result = new Object[length];
+        var i = length;
+        for (var current = this; current != null; current = current.parent) {
+            result[--i] = current.id;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the objects on the path, beginning with the root.
+     *
+     * @return a new immutable list
+     */
+    public List<ActiveObject<?>> toList() {
+        final var result = new ActiveObject<?>[length];
+        var i = length;
+        for (var current = this; current != null; current = current.parent) {
+            result[--i] = current.object;
+        }
+        return List.of(result);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(ids());
+    }
+
+    private static long bitOf(final Object objectId) {
+        final var hash = objectId.hashCode();
+        return 1L << ((hash ^ (hash >>> 16)) & 63);
+    }
+}
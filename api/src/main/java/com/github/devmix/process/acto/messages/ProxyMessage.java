@@ -0,0 +1,38 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.messages;
+
+/**
+ * Represents a call of a method of a proxy interface of an active object. Unlike {@link Invoke}, proxy messages are
+ * handled before message listeners of the object, so a call through a proxy always runs the method of the interface.
+ *
+ * @param <T> the type of the interface
+ * @author Sergey Grachev
+ */
+public interface ProxyMessage<T> {
+
+    /**
+     * Calls the method on the instance of the object.
+     *
+     * @param instance the instance of the object
+     * @return the result of the method, null for void methods
+     * @throws Exception if the method throws an exception
+     */
+    Object run(T instance) throws Exception;
+}
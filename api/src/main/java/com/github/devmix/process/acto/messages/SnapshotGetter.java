@@ -0,0 +1,34 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.messages;
+
+/**
+ * Represents an {@link AttributeGetter} which is safe to be served from the latest snapshot of the object.
+ *
+ * <p>If the object implements {@link com.github.devmix.process.acto.listeners.OnSnapshotListener} and has published
+ * a snapshot, the getter is applied to the snapshot on the calling thread without entering the mailbox, otherwise it
+ * is processed like any other getter. The getter must only read the target.</p>
+ *
+ * @param <T> The type of the input object (the target from which the attribute will be extracted).
+ * @param <R> The type of the result (the attribute being extracted).
+ * @author Sergey Grachev
+ */
+@FunctionalInterface
+public interface SnapshotGetter<T, R> extends AttributeGetter<T, R> {
+}
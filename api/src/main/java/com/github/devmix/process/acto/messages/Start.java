@@ -23,10 +23,8 @@ import lombok.Getter;
 import lombok.Setter;
 
 import javax.annotation.Nullable;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Represents a message to start processing with an Active Object.
@@ -38,19 +36,13 @@ import java.util.Set;
 public final class Start {
 
     /**
-     * A linked list representing the chain of active objects to be processed.
-     * Nullable if no chain is provided.
+     * The path of active objects from the root of the start, it is shared with other branches of the start and
+     * provides both the chain and the visited object IDs.
+     * Nullable if no objects have been started yet.
      */
     @Getter
     @Nullable
-    private LinkedList<ActiveObject<?>> chain;
-
-    /**
-     * A set of visited object IDs to prevent re-processing.
-     * Nullable if no visits have been recorded yet.
-     */
-    @Nullable
-    private Set<Object> visited;
+    private LifecyclePath path;
 
     /**
      * The source active object from which the processing starts.
@@ -77,15 +69,12 @@ public final class Start {
      * Constructor for creating a new Start instance with provided parameters.
      *
      * @param source   the source active object from which to start processing
-     * @param chain    the linked list of active objects involved in the process
-     * @param visited  the set of visited object IDs
+     * @param path     the path of active objects involved in the process
      * @param optional whether the start is optional or mandatory
      */
-    private Start(final ActiveObject<?> source, final LinkedList<ActiveObject<?>> chain,
-                  final Set<Object> visited, final boolean optional) {
+    private Start(final ActiveObject<?> source, @Nullable final LifecyclePath path, final boolean optional) {
         this.source = Objects.requireNonNull(source, "Source cannot be null");
-        this.chain = Objects.requireNonNull(chain, "Chain cannot be null");
-        this.visited = Objects.requireNonNull(visited, "Visited set cannot be null");
+        this.path = path;
         this.optional = optional;
     }
 
@@ -100,42 +89,45 @@ public final class Start {
 
     /**
      * Creates a new Start instance based on an existing one, with the provided source and optionality flag.
+     * <p>
+     * Dependencies of an object are started concurrently, every branch continues the path of the origin without
+     * copying it, and only objects on the path from the root are treated as visited.
      *
      * @param source   the source active object from which to start processing
-     * @param origin   the original Start instance whose chain and visited objects will be copied
+     * @param origin   the original Start instance whose path will be continued
      * @param optional whether the start is optional or mandatory
      * @return a new Start instance based on the provided parameters
      */
     public static Start downstream(final ActiveObject<?> source, final Start origin, final boolean optional) {
-        return new Start(source, origin.chain, origin.visited, optional);
+        return new Start(source, origin.path, optional);
+    }
+
+    /**
+     * Returns the chain of active objects from the root of the start.
+     *
+     * @return a new list of active objects, or null if no objects have been started yet
+     */
+    @Nullable
+    public List<ActiveObject<?>> getChain() {
+        return path != null ? path.toList() : null;
     }
 
     /**
      * Checks if an object ID has already been visited during processing.
      *
      * @param objectId the object ID to check
-     * @return true if the object ID is in the visited set; false otherwise
+     * @return true if the object ID is on the path of the start; false otherwise
      */
     public boolean isVisited(final Object objectId) {
-        return visited != null && visited.contains(objectId);
+        return path != null && path.contains(objectId);
     }
 
     /**
-     * Adds an active object to the chain and records its ID as visited.
+     * Adds an active object to the path, so its ID is recorded as visited.
      *
      * @param object the active object to add to the processing chain
      */
     public void starting(final ActiveObject<?> object) {
-        if (chain == null) {
-            chain = new LinkedList<>();
-        }
-
-        chain.add(object);
-
-        if (visited == null) {
-            visited = new HashSet<>(2);
-        }
-
-        visited.add(object.getId());
+        path = LifecyclePath.extend(path, object);
     }
 }
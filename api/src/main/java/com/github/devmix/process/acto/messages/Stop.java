@@ -22,10 +22,8 @@ import com.github.devmix.process.acto.ActiveObject;
 import lombok.Getter;
 
 import javax.annotation.Nullable;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Represents a message to stop an Active Object or a chain of Active Objects.
@@ -45,17 +43,12 @@ public final class Stop {
     private final boolean force;
 
     /**
-     * A chain of Active Objects to which this stop message applies, if applicable. Can be null.
+     * The path of Active Objects from the root of the stopping process, it is shared with other branches of the
+     * process and provides both the chain and the visited object IDs. Can be null.
      */
     @Getter
     @Nullable
-    private LinkedList<ActiveObject<?>> chain;
-
-    /**
-     * Set of object IDs that have been visited during the stopping process, if applicable. Can be null.
-     */
-    @Nullable
-    private Set<Object> visited;
+    private LifecyclePath path;
 
     /**
      * The source Active Object from which this stop message originates, if applicable. Can be null.
@@ -76,31 +69,28 @@ public final class Stop {
     /**
      * Constructs a new Stop message with the given parameters.
      *
-     * @param source  the Active Object from which this stop message originates
-     * @param chain   a list of Active Objects to which this stop message applies
-     * @param visited a set of object IDs that have been visited during the stopping process
-     * @param force   whether the stop operation should be forced (cannot be ignored)
+     * @param source the Active Object from which this stop message originates
+     * @param path   the path of Active Objects involved in the stopping process
+     * @param force  whether the stop operation should be forced (cannot be ignored)
      */
-    private Stop(final ActiveObject<?> source, final LinkedList<ActiveObject<?>> chain,
-                 final Set<Object> visited, final boolean force) {
+    private Stop(final ActiveObject<?> source, @Nullable final LifecyclePath path, final boolean force) {
         this.source = Objects.requireNonNull(source, "source cannot be null");
-        this.chain = Objects.requireNonNull(chain, "chain cannot be null");
-        this.visited = new HashSet<>(Objects.requireNonNull(visited, "visited cannot be null"));
+        this.path = path;
         this.force = force;
     }
 
     /**
      * Creates a new stop message that is an upstream continuation of the given stop message.
      * <p>
-     * The new message will have the specified source Active Object, and it will inherit the chain,
-     * visited set, and force flag from the original message.
+     * The new message will have the specified source Active Object, and it will continue the path and inherit
+     * the force flag of the original message. The path is shared, not copied.
      *
      * @param source  the new source Active Object for this stop message
      * @param message the original stop message to continue upstream from
      * @return a new Stop message that continues the stopping process upstream
      */
     public static Stop upstream(final ActiveObject<?> source, final Stop message) {
-        return new Stop(source, message.chain, message.visited, message.force);
+        return new Stop(source, message.path, message.force);
     }
 
     /**
@@ -125,34 +115,34 @@ public final class Stop {
         return new Stop(false);
     }
 
+    /**
+     * Returns the chain of Active Objects from the root of the stopping process.
+     *
+     * @return a new list of Active Objects, or null if no objects have been stopped yet
+     */
+    @Nullable
+    public List<ActiveObject<?>> getChain() {
+        return path != null ? path.toList() : null;
+    }
+
     /**
      * Checks whether the given object ID has been visited during the stopping process.
      *
-     * @param objectId the object ID to check for in the visited set
+     * @param objectId the object ID to check for on the path
      * @return true if the object ID has been visited, false otherwise
      */
     public boolean isVisited(final Object objectId) {
-        return visited != null && visited.contains(objectId);
+        return path != null && path.contains(objectId);
     }
 
     /**
      * Records an Active Object as part of the stopping process.
      * <p>
-     * The specified object will be added to the chain, and its ID will be recorded in the visited set.
+     * The specified object will be added to the path, and its ID will be recorded as visited.
      *
      * @param object the Active Object to record as being stopped
      */
     public void stopping(final ActiveObject<?> object) {
-        if (chain == null) {
-            chain = new LinkedList<>();
-        }
-
-        chain.add(object);
-
-        if (visited == null) {
-            visited = new HashSet<>(2);
-        }
-
-        visited.add(object.getId());
+        path = LifecyclePath.extend(path, object);
     }
 }
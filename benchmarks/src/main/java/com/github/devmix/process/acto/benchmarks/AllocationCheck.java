@@ -0,0 +1,67 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link FireAndForgetBenchmark} on the ring mailbox with the GC profiler and fails if any fire-and-forget path
+ * allocates in steady state.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.github.devmix.process.acto.benchmarks.AllocationCheck
+ * </pre>
+ *
+ * @author Sergey Grachev
+ */
+public final class AllocationCheck {
+
+    /**
+     * Allowed bytes per message. Not exactly zero, because allocations of the JMH infrastructure and of the rare
+     * scheduling of the dispatching task are spread over all measured messages.
+     */
+    public static final double MAX_BYTES_PER_MESSAGE = 0.5;
+
+    private AllocationCheck() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var options = new OptionsBuilder()
+                .include(FireAndForgetBenchmark.class.getSimpleName())
+                .param("mailbox", "RING")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        var failed = false;
+        for (final var result : new Runner(options).run()) {
+            final var allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            final var bytes = allocation != null ? allocation.getScore() : Double.NaN;
+            final var passed = bytes <= MAX_BYTES_PER_MESSAGE;
+
+            System.out.printf("%s %s: %.3f B/message%n", passed ? "OK  " : "FAIL", result.getParams().getBenchmark(), bytes);
+            failed |= !passed;
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
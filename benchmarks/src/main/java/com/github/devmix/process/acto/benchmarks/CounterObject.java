@@ -0,0 +1,61 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.listeners.OnMessageListener;
+
+import javax.annotation.Nullable;
+
+/**
+ * Minimal active object used by the benchmarks: every message is answered with the current counter value,
+ * so the measured cost is dominated by the dispatching path and not by the handler itself.
+ *
+ * @author Sergey Grachev
+ */
+public class CounterObject implements OnMessageListener<CounterObject> {
+
+    public static final Integer MSG_INCREMENT = 1;
+
+    private long counter;
+
+    public CounterObject(final Object id, @Nullable final Object options) {
+    }
+
+    @Nullable
+    @Override
+    public Object onObjectMessage(final Object message, final ActiveObjectContext<CounterObject> context) {
+        if (message == MSG_INCREMENT) {
+            return ++counter;
+        }
+        return counter;
+    }
+
+    public long getCounter() {
+        return counter;
+    }
+
+    public void setCounter(final long counter) {
+        this.counter = counter;
+    }
+
+    public void increment() {
+        counter++;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many producer threads against one active object: measures mailbox contention between producers
+ * and the single consumer of the object.
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class FanInBenchmark {
+
+    public static final int BATCH = 100;
+
+    @Param({"MPSC", "BLOCKING_DEQUE", "RING"})
+    private MailboxType mailbox;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<CounterObject> object;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = new DefaultActiveObjectsDispatcher();
+        dispatcher.setMailboxFactory(mailbox);
+        object = dispatcher.create(CounterObject::new, "counter", null);
+        object.request(Start.standard()).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Benchmark
+    public Object request() {
+        return object.request(CounterObject.MSG_INCREMENT).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object requestAndForget() {
+        for (var i = 0; i < BATCH - 1; i++) {
+            object.requestAndForget(CounterObject.MSG_INCREMENT);
+        }
+        return object.request(CounterObject.MSG_INCREMENT).join();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One producer against thousands of active objects created through
+ * {@link DefaultActiveObjectsDispatcher#create}: every operation sends one request to each object and waits for
+ * all responses, so the score is dominated by scheduling of the dispatching tasks.
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FanOutBenchmark {
+
+    @Param({"1000", "10000"})
+    private int objects;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<?>[] targets;
+    private CompletableFuture<?>[] responses;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = virtualThreads
+                ? DefaultActiveObjectsDispatcher.withVirtualThreads()
+                : new DefaultActiveObjectsDispatcher();
+        targets = new ActiveObject<?>[objects];
+        responses = new CompletableFuture<?>[objects];
+
+        for (var i = 0; i < objects; i++) {
+            targets[i] = dispatcher.create(CounterObject::new, "counter:" + i, null);
+            responses[i] = targets[i].request(Start.standard());
+        }
+        CompletableFuture.allOf(responses).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Benchmark
+    public Object request() {
+        for (var i = 0; i < objects; i++) {
+            responses[i] = targets[i].request(CounterObject.MSG_INCREMENT);
+        }
+        return CompletableFuture.allOf(responses).join();
+    }
+}
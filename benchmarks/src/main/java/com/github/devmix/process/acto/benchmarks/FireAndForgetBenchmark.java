@@ -0,0 +1,147 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.core.context.ThroughputQuota;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.listeners.OnMessageListener;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of {@code requestAndForget} and {@code invokeAnForget}. Every operation sends {@link #BATCH}
+ * messages and spins until the object has received all of them, so the harness itself does not allocate and
+ * {@code -prof gc} reports the bytes allocated by the dispatching path per message, see {@link AllocationCheck}.
+ *
+ * <p>The object keeps its dispatching task between batches ({@link IdleStrategyType#PARK}, no throughput quota),
+ * scheduling of a new task allocates inside the executor.</p>
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FireAndForgetBenchmark {
+
+    /**
+     * Messages per operation, less than {@link com.github.devmix.process.acto.core.mailbox.RingMailbox#DEFAULT_CAPACITY}
+     * so the ring never overflows.
+     */
+    public static final int BATCH = 512;
+
+    private static final Object MESSAGE = new Object();
+
+    @Param({"MPSC", "RING"})
+    private MailboxType mailbox;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<SinkObject> object;
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = new DefaultActiveObjectsDispatcher();
+        dispatcher.setMailboxFactory(mailbox);
+        dispatcher.setIdleStrategy(IdleStrategyType.PARK);
+        dispatcher.setThroughputQuota(ThroughputQuota.UNLIMITED);
+        object = dispatcher.create(SinkObject::new, "sink", null);
+        object.request(Start.standard()).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long requestAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            object.requestAndForget(MESSAGE);
+        }
+        return awaitReceived();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long invokeAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            object.invokeAnForget(SinkObject::receive);
+        }
+        return awaitReceived();
+    }
+
+    private long awaitReceived() {
+        sent += BATCH;
+
+        final var sink = object.getInstance();
+        long received;
+        while ((received = sink.received) < sent) {
+            Thread.onSpinWait();
+        }
+        return received;
+    }
+
+    /**
+     * Counts received messages and never answers, so the handler does not allocate either.
+     */
+    public static class SinkObject implements OnMessageListener<SinkObject> {
+
+        private volatile long received;
+
+        public SinkObject(final Object id, @Nullable final Object options) {
+        }
+
+        @Nullable
+        @Override
+        public Object onObjectMessage(final Object message, final ActiveObjectContext<SinkObject> context) {
+            receive();
+            return null;
+        }
+
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void receive() {
+            // written only by the dispatching task of the object
+            received++;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of a request to an object which was idle for {@link #pauseMicros} before it, together with the process CPU
+ * time spent per request (including the pause), for every {@link IdleStrategyType}.
+ *
+ * <p>{@code RESCHEDULE} burns no CPU while the object is idle but pays for scheduling a new dispatching task,
+ * {@code BACKOFF} and {@code PARK} keep the task waiting for the next message.</p>
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdleBenchmark {
+
+    @Param({"RESCHEDULE", "BACKOFF", "PARK"})
+    private IdleStrategyType idleStrategy;
+
+    @Param({"0", "50", "1000"})
+    private long pauseMicros;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<CounterObject> object;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = new DefaultActiveObjectsDispatcher();
+        dispatcher.setIdleStrategy(idleStrategy);
+        object = dispatcher.create(CounterObject::new, "counter", null);
+        object.request(Start.standard()).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Setup(Level.Invocation)
+    public void pause() {
+        if (pauseMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(pauseMicros));
+        }
+    }
+
+    @Benchmark
+    public Object request(final ProcessCpu cpu) {
+        final var result = object.request(CounterObject.MSG_INCREMENT).join();
+        cpu.sample();
+        return result;
+    }
+
+    /**
+     * Reports the average process CPU time per operation as the secondary result {@code cpuNanosPerOp}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ProcessCpu {
+
+        private static final com.sun.management.OperatingSystemMXBean OS =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+        public long cpuNanosPerOp;
+
+        private long start;
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuNanosPerOp = 0;
+            operations = 0;
+            start = OS.getProcessCpuTime();
+        }
+
+        void sample() {
+            cpuNanosPerOp = (OS.getProcessCpuTime() - start) / ++operations;
+        }
+    }
+}
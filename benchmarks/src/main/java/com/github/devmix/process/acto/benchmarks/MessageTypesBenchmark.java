@@ -0,0 +1,151 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.core.context.ThroughputQuota;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.listeners.OnMessageListener;
+import com.github.devmix.process.acto.messages.Invoke;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing cost of messages of many classes. Every operation sends {@link #BATCH} messages rotating over
+ * {@link #types} different classes, so the type checks of the dispatching path see as many receiver types as an object
+ * with a rich protocol, and spins until the object has received all of them.
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageTypesBenchmark {
+
+    public static final int BATCH = 512;
+
+    private static final Object[] MESSAGES = {
+            new Add(1), new Subtract(1), new Reset(), new Query("a"),
+            1, 2L, "text", 'c',
+            (Invoke<SinkObject>) SinkObject::receive, (Invoke<SinkObject>) o -> o.receive(),
+            new Add(2), new Subtract(2), new Query("b"), 3.0, (short) 4, (byte) 5
+    };
+
+    @Param({"1", "4", "16"})
+    private int types;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<SinkObject> object;
+    private Object[] messages;
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = new DefaultActiveObjectsDispatcher();
+        dispatcher.setMailboxFactory(MailboxType.RING);
+        dispatcher.setIdleStrategy(IdleStrategyType.PARK);
+        dispatcher.setThroughputQuota(ThroughputQuota.UNLIMITED);
+        object = dispatcher.create(SinkObject::new, "sink", null);
+        object.request(Start.standard()).get();
+
+        messages = new Object[BATCH];
+        for (var i = 0; i < BATCH; i++) {
+            messages[i] = MESSAGES[i % types];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long requestAndForget() {
+        for (final var message : messages) {
+            object.requestAndForget(message);
+        }
+        sent += BATCH;
+
+        final var sink = object.getInstance();
+        long received;
+        while ((received = sink.received) < sent) {
+            Thread.onSpinWait();
+        }
+        return received;
+    }
+
+    record Add(int value) {
+    }
+
+    record Subtract(int value) {
+    }
+
+    record Reset() {
+    }
+
+    record Query(String name) {
+    }
+
+    /**
+     * Counts received messages of any class, the handler of the listener receives invocations too.
+     */
+    public static class SinkObject implements OnMessageListener<SinkObject> {
+
+        private volatile long received;
+
+        public SinkObject(final Object id, @Nullable final Object options) {
+        }
+
+        @Nullable
+        @Override
+        public Object onObjectMessage(final Object message, final ActiveObjectContext<SinkObject> context) {
+            receive();
+            return null;
+        }
+
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void receive() {
+            // written only by the dispatching task of the object
+            received++;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.benchmarks;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectProxy;
+import com.github.devmix.process.acto.core.context.ThroughputQuota;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
+import com.github.devmix.process.acto.messages.Start;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of void methods of runtime and generated proxies compared with {@code invokeAnForget}, measured like
+ * {@link FireAndForgetBenchmark}. Calls with arguments allocate a message per call, so this benchmark is not a part of
+ * {@link AllocationCheck}.
+ *
+ * @author Sergey Grachev
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyBenchmark {
+
+    private static final int BATCH = FireAndForgetBenchmark.BATCH;
+
+    private DefaultActiveObjectsDispatcher dispatcher;
+    private ActiveObject<SinkObject> object;
+    private Sink proxy;
+    private Sink generatedProxy;
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dispatcher = new DefaultActiveObjectsDispatcher();
+        dispatcher.setMailboxFactory(MailboxType.RING);
+        dispatcher.setIdleStrategy(IdleStrategyType.PARK);
+        dispatcher.setThroughputQuota(ThroughputQuota.UNLIMITED);
+        object = dispatcher.create(SinkObject::new, "sink", null);
+        object.request(Start.standard()).get();
+        proxy = dispatcher.proxy(object, Sink.class);
+        generatedProxy = dispatcher.proxy(object, GeneratedSink.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long generatedProxyAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            generatedProxy.receive();
+        }
+        return awaitReceived();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long generatedProxyWithArgumentAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            generatedProxy.add(1);
+        }
+        return awaitReceived();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long invokeAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            object.invokeAnForget(o -> o.add(1));
+        }
+        return awaitReceived();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long proxyAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            proxy.receive();
+        }
+        return awaitReceived();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long proxyWithArgumentAndForget() {
+        for (var i = 0; i < BATCH; i++) {
+            proxy.add(1);
+        }
+        return awaitReceived();
+    }
+
+    private long awaitReceived() {
+        sent += BATCH;
+
+        final var sink = object.getInstance();
+        long received;
+        while ((received = sink.received) < sent) {
+            Thread.onSpinWait();
+        }
+        return received;
+    }
+
+    public interface Sink {
+
+        void receive();
+
+        void add(long count);
+    }
+
+    @ActiveObjectProxy
+    public interface GeneratedSink extends Sink {
+    }
+
+    public static class SinkObject implements GeneratedSink {
+
+        private volatile long received;
+
+        public SinkObject(final Object id, @Nullable final Object options) {
+        }
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void receive() {
+            // written only by the dispatching task of the object
+            received++;
+        }
+
+        @Override
+        @SuppressWarnings("NonAtomicOperationOnVolatileField")
+        public void add(final long count) {
+            received += count;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectProxy;
+import com.github.devmix.process.acto.exceptions.DispatchingException;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Implementations of interfaces of active objects which turn calls of methods into messages. A method returning
+ * {@code void} sends a message without waiting for the result, a method returning {@link CompletableFuture} or
+ * {@link CompletionStage} sends a request and completes the returned future with the result of the future returned
+ * by the object. Interfaces marked with {@link ActiveObjectProxy} are implemented by the classes generated at compile
+ * time, other interfaces by runtime proxies whose methods are checked and bound to method handles once per interface.
+ *
+ * @author Sergey Grachev
+ */
+public final class ActiveObjectProxies {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final CompletableFuture<Object> NULL_RESULT = CompletableFuture.completedFuture(null);
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, ActiveObject.class);
+
+    private static final ClassValue<ProxyFactory> FACTORIES = new ClassValue<>() {
+        @Override
+        protected ProxyFactory computeValue(final Class<?> type) {
+            return factoryOf(type);
+        }
+    };
+
+    private ActiveObjectProxies() {
+    }
+
+    /**
+     * Creates a proxy of the active object.
+     *
+     * @param <P>    the type of the proxy
+     * @param object the active object, its instance must implement the interface
+     * @param type   the interface, every method must return void, {@link CompletableFuture} or {@link CompletionStage}
+     * @return the proxy
+     * @throws DispatchingException if the type is not an interface or a method of the interface is not supported
+     */
+    public static <P> P create(final ActiveObject<? extends P> object, final Class<P> type) {
+        if (object == null) {
+            throw new DispatchingException("Object cannot be null");
+        }
+        if (type == null || !type.isInterface()) {
+            throw new DispatchingException("Proxy type must be an interface: " + type);
+        }
+
+        return type.cast(FACTORIES.get(type).create(object));
+    }
+
+    private static ProxyMethod bind(final Method method) {
+        final var returnType = method.getReturnType();
+        final var future = returnType == CompletableFuture.class || returnType == CompletionStage.class;
+        if (returnType != void.class && !future) {
+            throw new DispatchingException("Proxy method must return void, CompletableFuture or CompletionStage: " + method);
+        }
+
+        final MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (final RuntimeException | IllegalAccessException e) {
+            throw new DispatchingException("Proxy method is not accessible: " + method, e);
+        }
+
+        // (instance, arguments...) -> result  =>  (Object instance, Object[] arguments) -> Object, varargs arrive as
+        // arrays already, so the handle must not collect them again
+        final var invoker = handle.asFixedArity().asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        // a call without arguments is immutable, so one message is shared by all calls of the method
+        final var shared = method.getParameterCount() == 0 ? new ProxyCall(invoker, null) : null;
+        return new ProxyMethod(invoker, future, shared);
+    }
+
+    private static ProxyFactory factoryOf(final Class<?> type) {
+        final var generated = generatedFactory(type);
+        if (generated != null) {
+            return generated;
+        }
+
+        final var methods = proxyMethods(type);
+        return object -> Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Handler(object, type, methods));
+    }
+
+    /**
+     * Returns the factory of the class generated for the interface, or null if the interface is not marked with
+     * {@link ActiveObjectProxy} or the annotation processor was not run.
+     */
+    @Nullable
+    private static ProxyFactory generatedFactory(final Class<?> type) {
+        if (!type.isAnnotationPresent(ActiveObjectProxy.class)) {
+            return null;
+        }
+
+        final var binaryName = type.getName();
+        final var packageName = type.getPackageName();
+        final var simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        final var name = (packageName.isEmpty() ? "" : packageName + ".")
+                + simpleName.replace('$', '_') + ActiveObjectProxy.SUFFIX;
+
+        final Class<?> generated;
+        try {
+            generated = Class.forName(name, true, type.getClassLoader());
+        } catch (final ClassNotFoundException e) {
+            return null;
+        }
+        if (!type.isAssignableFrom(generated)) {
+            throw new DispatchingException("Generated proxy " + name + " does not implement " + type.getName());
+        }
+
+        final MethodHandle constructor;
+        try {
+            final var declared = generated.getDeclaredConstructor(ActiveObject.class);
+            declared.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(declared).asType(FACTORY_TYPE);
+        } catch (final RuntimeException | ReflectiveOperationException e) {
+            throw new DispatchingException("Generated proxy is not accessible: " + name, e);
+        }
+
+        return object -> {
+            try {
+                return (Object) constructor.invokeExact(object);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new DispatchingException("Generated proxy cannot be created: " + name, e);
+            }
+        };
+    }
+
+    private static boolean isObjectMethod(final Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Map<Method, ProxyMethod> proxyMethods(final Class<?> type) {
+        final var result = new HashMap<Method, ProxyMethod>();
+        for (final var method : type.getMethods()) {
+            // redeclared equals, hashCode and toString are implemented by the proxy itself
+            if (!Modifier.isStatic(method.getModifiers()) && !isObjectMethod(method)) {
+                result.put(method, bind(method));
+            }
+        }
+        return Map.copyOf(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletionStage<Object> unwrap(@Nullable final Object result) {
+        return result != null ? (CompletionStage<Object>) result : NULL_RESULT;
+    }
+
+    @FunctionalInterface
+    private interface ProxyFactory {
+
+        Object create(ActiveObject<?> object);
+    }
+
+    private record ProxyMethod(MethodHandle invoker, boolean future, @Nullable ProxyCall shared) {
+    }
+
+    private record Handler(ActiveObject<?> object, Class<?> type, Map<Method, ProxyMethod> methods)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, @Nullable final Object[] args) {
+            final var target = methods.get(method);
+            if (target == null) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+
+            final var call = target.shared() != null ? target.shared() : new ProxyCall(target.invoker(), args);
+            if (!target.future()) {
+                object.requestAndForget(call);
+                return null;
+            }
+            return object.request(call).thenCompose(ActiveObjectProxies::unwrap);
+        }
+
+        private Object invokeObjectMethod(final Object proxy, final Method method, @Nullable final Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return args != null && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "Proxy{id=" + object.getId() + "}";
+                default:
+                    throw new DispatchingException("Unsupported method: " + method);
+            }
+        }
+    }
+}
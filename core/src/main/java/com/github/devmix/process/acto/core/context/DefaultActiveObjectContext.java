@@ -24,6 +24,18 @@ import com.github.devmix.process.acto.ActiveObjectDependency;
 import com.github.devmix.process.acto.ActiveObjectLifecycle;
 import com.github.devmix.process.acto.ActiveObjectStatus;
 import com.github.devmix.process.acto.ActiveObjectsDispatcher;
+import com.github.devmix.process.acto.MailboxOverflowPolicy;
+import com.github.devmix.process.acto.core.events.LifecycleEvent;
+import com.github.devmix.process.acto.core.events.LifecycleEventSink;
+import com.github.devmix.process.acto.core.events.LifecycleEventType;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategy;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.Mailbox;
+import com.github.devmix.process.acto.core.mailbox.MailboxCapacity;
+import com.github.devmix.process.acto.core.metrics.ActiveObjectMetrics;
+import com.github.devmix.process.acto.core.partition.EventLoop;
+import com.github.devmix.process.acto.core.registry.RegistryEpoch;
+import com.github.devmix.process.acto.core.scheduler.HeartbeatScheduler;
 import com.github.devmix.process.acto.core.utils.ObjectInfoUtils;
 import com.github.devmix.process.acto.exceptions.DependencyException;
 import com.github.devmix.process.acto.exceptions.DispatchingException;
@@ -32,7 +44,9 @@ import com.github.devmix.process.acto.exceptions.RegistryException;
 import com.github.devmix.process.acto.listeners.OnCreateListener;
 import com.github.devmix.process.acto.listeners.OnDestroyListener;
 import com.github.devmix.process.acto.listeners.OnIdleListener;
+import com.github.devmix.process.acto.listeners.OnMessageBatchListener;
 import com.github.devmix.process.acto.listeners.OnMessageListener;
+import com.github.devmix.process.acto.listeners.OnSnapshotListener;
 import com.github.devmix.process.acto.listeners.OnStartListener;
 import com.github.devmix.process.acto.listeners.OnStopListener;
 import com.github.devmix.process.acto.messages.AttributeGetter;
@@ -40,28 +54,30 @@ import com.github.devmix.process.acto.messages.AttributeSetter;
 import com.github.devmix.process.acto.messages.Idle;
 import com.github.devmix.process.acto.messages.Invoke;
 import com.github.devmix.process.acto.messages.InvokeAndGet;
+import com.github.devmix.process.acto.messages.LifecyclePath;
+import com.github.devmix.process.acto.messages.ProxyMessage;
+import com.github.devmix.process.acto.messages.SnapshotGetter;
 import com.github.devmix.process.acto.messages.Start;
 import com.github.devmix.process.acto.messages.Stop;
 import lombok.Getter;
-import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.Serial;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
@@ -70,42 +86,99 @@ import java.util.function.Consumer;
 public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, ActiveObject<T> {
 
     public static final int NO_DEACTIVATION_TIMEOUT = -2;
-    public static boolean DEBUGGING_INFO = true;
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultActiveObjectContext.class);
+    private static final int MAX_INLINE_DEPTH = 16;
+    private static final ThreadLocal<int[]> INLINE_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    /**
+     * Number of dispatching tasks running on the current thread, nested tasks appear when an executor runs a task
+     * of another object inline.
+     */
+    private static final ThreadLocal<int[]> DISPATCHING_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Object NOT_INLINED = new Object();
+    private static final Object[] NO_IDS = new Object[0];
 
     private final Object id;
     private final ActiveObjectLifecycle<T> lifecycle;
     private final @Getter Object options;
     private final ActiveObjectsDispatcher dispatcher;
-    private final ForkJoinPool executor;
+    private final Executor executor;
+    private final LifecycleEventSink eventSink;
+    private final @Getter ActiveObjectMetrics metrics;
+    private final boolean metricsEnabled;
     //    private final AtomicLong numberOfThreads = new AtomicLong(0);
     private final AtomicBoolean queueTaskRunning = new AtomicBoolean();
-    private final LinkedBlockingDeque<QueueEntry<?>> queue = new LinkedBlockingDeque<>();
-    private final AtomicReference<QueueDispatchingTask> dispatchingTask = new AtomicReference<>();
-
-    private Map<Object, DependencyState> dependencies;
+    private final QueueDispatchingTask queueTask = new QueueDispatchingTask();
+    private final AtomicBoolean heartbeatScheduled = new AtomicBoolean();
+    private final Runnable heartbeatTimer = this::onHeartbeatTimer;
+    private final @Nullable HeartbeatScheduler heartbeatScheduler;
+    private final @Nullable RegistryEpoch registryEpoch;
+    /**
+     * Contains {@link QueueEntry} for messages with a response and plain messages without a response.
+     */
+    private final Mailbox<Object> queue;
+    private final @Nullable MailboxCoalescing coalescing;
+
+    private volatile @Nullable MailboxLimit mailboxLimit;
+    private volatile @Nullable Thread dispatchingThread;
+
+    private @Nullable DependencyList dependsOn;
+    private @Nullable DependencyList requiredFor;
+    private @Nullable PendingTransition transition;
+    private @Nullable ArrayDeque<Object> deferred;
+    private volatile Object[] dependsOnIds = NO_IDS;
+    private @Nullable RecipientCache recipients;
 
     private @Getter T instance;
-    private @Getter ActiveObjectStatus status = ActiveObjectStatus.CREATING;
+    private MessageHandlers handlers = MessageHandlers.NONE;
+    private @Nullable OnSnapshotListener<T> snapshotListener;
+    /**
+     * The latest snapshot of the instance, published by the dispatching task and read by any thread.
+     */
+    private volatile @Nullable T snapshot;
+    private volatile @Getter ActiveObjectStatus status = ActiveObjectStatus.CREATING;
     private long lastActivityTime;
 
     private @Getter boolean idleAllowed;
     private @Getter long idleTimeout;
     private @Getter long waitMessagesTimeout;
+    private @Getter IdleStrategy idleStrategy;
+    private @Getter ThroughputQuota throughputQuota;
+    private @Getter long dependencyTimeout;
 
     public DefaultActiveObjectContext(final Object id, final Object options, @Nullable final T instance,
                                       final ActiveObjectLifecycle<T> lifecycle,
-                                      final ActiveObjectsDispatcher dispatcher, final ForkJoinPool executor) {
+                                      final ActiveObjectsDispatcher dispatcher, final Executor executor) {
+        this(id, options, instance, lifecycle, dispatcher, executor, DispatchingSettings.DEFAULT);
+    }
+
+    public DefaultActiveObjectContext(final Object id, final Object options, @Nullable final T instance,
+                                      final ActiveObjectLifecycle<T> lifecycle,
+                                      final ActiveObjectsDispatcher dispatcher, final Executor executor,
+                                      final DispatchingSettings settings) {
         this.id = id;
         this.lifecycle = lifecycle;
         this.options = options;
         this.dispatcher = dispatcher;
         this.executor = executor;
-        this.instance = instance;
+        this.eventSink = settings.eventSink();
+        this.heartbeatScheduler = settings.heartbeatScheduler();
+        this.metrics = settings.metrics();
+        this.registryEpoch = settings.registryEpoch();
+        this.metricsEnabled = metrics.isEnabled();
+        this.queue = settings.mailboxFactory().create(id);
+        this.coalescing = settings.coalescing() ? new MailboxCoalescing() : null;
+        this.setInstance(instance);
 
         this.setIdleTimeout(dispatcher.getIdleTimeout());
         this.setWaitMessagesTimeout(dispatcher.getWaitMessagesTimeout());
+        this.setIdleStrategy(settings.idleStrategy());
+        this.setThroughputQuota(settings.throughputQuota());
+        this.setDependencyTimeout(settings.dependencyTimeout());
+        final var mailboxCapacity = settings.mailboxCapacity();
+        if (mailboxCapacity != null) {
+            this.setMailboxCapacity(mailboxCapacity.capacity(), mailboxCapacity.policy());
+        }
 
         this.onCreate();
     }
@@ -117,12 +190,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
 
     @Override
     public void awaitEmptyQueue(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        if (queueTaskRunning.compareAndSet(true, false)) {
-            final var task = dispatchingTask.get();
-            if (task != null) {
-                task.get(timeout, unit);
-            }
-        }
+        await(dispatch(InternalBarrier.instance()), timeout, unit);
     }
 
     @Override
@@ -132,23 +200,34 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
 
     @Override
     public @Nullable ActiveObjectDependency findDependsOn(final Object objectId) {
-        final var result = dependencies.get(objectId);
-        return result != null && result.getType() == ActiveObjectDependency.Type.DEPENDS_ON ? result : null;
+        return dependsOn != null ? dependsOn.find(objectId) : null;
     }
 
     @Override
     public @Nullable ActiveObjectDependency findRequiredFor(final Object objectId) {
-        final var result = dependencies.get(objectId);
-        return result != null && result.getType() == ActiveObjectDependency.Type.REQUIRED_FOR ? result : null;
+        return requiredFor != null ? requiredFor.find(objectId) : null;
+    }
+
+    /**
+     * Returns IDs of objects this object depends on, unlike other methods of dependencies may be called from any
+     * thread, e.g. by the dispatcher to build the graph of objects.
+     *
+     * @return the IDs of {@link ActiveObjectDependency.Type#DEPENDS_ON} dependencies
+     */
+    public List<Object> getDependsOnIds() {
+        return List.of(dependsOnIds);
     }
 
     @Override
     public void forEachDependency(final Consumer<ActiveObjectDependency> action, @Nullable final ActiveObjectDependency.Type filterByType) {
-        if (MapUtils.isNotEmpty(dependencies)) {
-            for (final var state : dependencies.values()) {
-                if (filterByType == null || state.getType() == filterByType) {
-                    action.accept(state);
-                }
+        if (dependsOn != null && filterByType != ActiveObjectDependency.Type.REQUIRED_FOR) {
+            for (int i = 0; i < dependsOn.size(); i++) {
+                action.accept(dependsOn.state(i));
+            }
+        }
+        if (requiredFor != null && filterByType != ActiveObjectDependency.Type.DEPENDS_ON) {
+            for (int i = 0; i < requiredFor.size(); i++) {
+                action.accept(requiredFor.state(i));
             }
         }
     }
@@ -158,6 +237,15 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         if (action == null) {
             throw new DispatchingException("Getter function cannot be null");
         }
+
+        final var state = snapshot;
+        if (state != null && action instanceof SnapshotGetter<T, R> getter) {
+            try {
+                return CompletableFuture.completedFuture(getter.get(state));
+            } catch (final Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
         return this.dispatch(action);
     }
 
@@ -181,13 +269,44 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         }
     }
 
+    @Override
+    public int getMailboxCapacity() {
+        final var limit = mailboxLimit;
+        return limit != null ? limit.getCapacity().capacity() : 0;
+    }
+
+    @Override
+    public @Nullable MailboxOverflowPolicy getMailboxOverflowPolicy() {
+        final var limit = mailboxLimit;
+        return limit != null ? limit.getCapacity().policy() : null;
+    }
+
     @Override
     public <R> CompletableFuture<R> redirectRequest(final Object objectId, final Object message) throws RegistryException {
         if (id.equals(objectId)) {
             return dispatch(message);
         }
+        return redirectRequest(recipientOf(objectId), message);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> redirectRequest(final ActiveObject<?> recipient, final Object message) {
+        if (recipient == this) {
+            return dispatch(message);
+        }
 
-        final var recipient = dispatcher.getById(objectId);
+        if (recipient instanceof DefaultActiveObjectContext<?> target && canRunInline(target)) {
+            try {
+                final var result = target.tryProcessInline(message);
+                if (result != NOT_INLINED) {
+                    //noinspection unchecked
+                    return CompletableFuture.completedFuture((R) result);
+                }
+            } catch (final Exception e) {
+                LOG.error(e.getMessage(), e);
+                return CompletableFuture.failedFuture(e);
+            }
+        }
 
         return recipient.request(message);
     }
@@ -196,9 +315,36 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
     public void redirectRequestAndForget(final Object objectId, final Object message) throws RegistryException {
         if (id.equals(objectId)) {
             dispatchNoResponse(message);
-        } else {
-            dispatcher.getById(objectId).requestAndForget(message);
+            return;
+        }
+        redirectRequestAndForget(recipientOf(objectId), message);
+    }
+
+    @Override
+    public void redirectRequestAndForget(final ActiveObject<?> recipient, final Object message) {
+        if (recipient == this) {
+            dispatchNoResponse(message);
+            return;
+        }
+
+        if (recipient instanceof DefaultActiveObjectContext<?> target && canRunInline(target)) {
+            try {
+                if (target.tryProcessInline(message) != NOT_INLINED) {
+                    return;
+                }
+            } catch (final Exception e) {
+                LOG.error(e.getMessage(), e);
+                return;
+            }
         }
+
+        recipient.requestAndForget(message);
+    }
+
+    @Override
+    public <R> ActiveObject<R> resolve(final Object objectId) throws RegistryException {
+        //noinspection unchecked
+        return (ActiveObject<R>) (id.equals(objectId) ? this : recipientOf(objectId));
     }
 
     @Override
@@ -222,7 +368,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         if (invoke == null) {
             throw new DispatchingException("invoke cannot be null");
         }
-        addToQueue(new QueueEntry<>(invoke, null));
+        addToQueue(invoke);
     }
 
     @Override
@@ -230,7 +376,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         if (message == null) {
             throw new DispatchingException("Message cannot be null");
         }
-        addToQueue(new QueueEntry<>(message, null));
+        dispatchNoResponse(message);
     }
 
     @Override
@@ -249,15 +395,35 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         dispatchNoResponse(InternalSetAttribute.create(action, value));
     }
 
+    /**
+     * Sets the time to wait for dependencies to start or stop, all dependencies of this object are started together
+     * within this time.
+     *
+     * @param dependencyTimeout the timeout in milliseconds
+     */
+    public void setDependencyTimeout(final long dependencyTimeout) {
+        this.dependencyTimeout = dependencyTimeout;
+    }
+
     public void setIdleTimeout(final long idleTimeout) {
         this.idleTimeout = idleTimeout == -1 ? dispatcher.getIdleTimeout() : idleTimeout;
         this.idleAllowed = this.idleTimeout != NO_DEACTIVATION_TIMEOUT
                 && (instance instanceof OnIdleListener || lifecycle instanceof OnIdleListener);
     }
 
+    @Override
+    public void setMailboxCapacity(final int capacity, final MailboxOverflowPolicy policy) {
+        final var mailboxCapacity = new MailboxCapacity(capacity, Objects.requireNonNull(policy, "Policy cannot be null"));
+        this.mailboxLimit = mailboxCapacity.isBounded() ? new MailboxLimit(id, mailboxCapacity) : null;
+    }
+
     @Override
     public void setInstance(@Nullable final T instance) {
         this.instance = instance;
+        this.handlers = instance != null ? MessageHandlers.of(instance.getClass()) : MessageHandlers.NONE;
+        //noinspection unchecked
+        this.snapshotListener = instance instanceof OnSnapshotListener<?> l ? (OnSnapshotListener<T>) l : null;
+        this.snapshot = null;
     }
 
     @Override
@@ -265,6 +431,32 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         this.waitMessagesTimeout = waitMessagesTimeout == -1 ? dispatcher.getWaitMessagesTimeout() : waitMessagesTimeout;
     }
 
+    /**
+     * Sets the strategy of the dispatching task when the mailbox of this object is empty, the task waits for new
+     * messages at most {@link #getWaitMessagesTimeout()} milliseconds.
+     *
+     * @param idleStrategy the idle strategy, e.g. one of {@link com.github.devmix.process.acto.core.mailbox.IdleStrategyType}
+     * @throws IllegalArgumentException if the object runs on an event loop and the strategy is not
+     *                                  {@link IdleStrategyType#RESCHEDULE}, waiting would stall the whole partition
+     */
+    public void setIdleStrategy(final IdleStrategy idleStrategy) {
+        Objects.requireNonNull(idleStrategy, "Idle strategy cannot be null");
+        if (executor instanceof EventLoop && idleStrategy != IdleStrategyType.RESCHEDULE) {
+            throw new IllegalArgumentException("Objects on an event loop must use the RESCHEDULE idle strategy: "
+                    + idleStrategy);
+        }
+        this.idleStrategy = idleStrategy;
+    }
+
+    /**
+     * Sets the limits of one activation of the dispatching task of this object.
+     *
+     * @param throughputQuota the throughput quota, {@link ThroughputQuota#UNLIMITED} to drain the whole mailbox
+     */
+    public void setThroughputQuota(final ThroughputQuota throughputQuota) {
+        this.throughputQuota = Objects.requireNonNull(throughputQuota, "Throughput quota cannot be null");
+    }
+
     @Override
     public String toString() {
         return "ActiveObjectContext{" +
@@ -272,49 +464,228 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
                 ", status=" + status +
                 ", queue=" + queue.size() +
                 ", running=" + queueTaskRunning.get() +
-                ", deps=" + (dependencies != null ? dependencies.size() : 0) +
+                ", deps=" + ((dependsOn != null ? dependsOn.size() : 0) + (requiredFor != null ? requiredFor.size() : 0)) +
                 '}';
     }
 
-    private DependencyState addDependency(final Object objectId, final ActiveObjectDependency.Type type, final boolean optional) {
-        if (dependencies == null) {
-            dependencies = new HashMap<>();
-        }
+    /**
+     * Checks whether the current thread must not wait for free space in a mailbox: a dispatching task of any object
+     * or an event loop would stop processing of messages, including the messages of the full mailbox itself.
+     */
+    static boolean isDispatchingThread() {
+        return DISPATCHING_DEPTH.get()[0] > 0 || EventLoop.current() != null;
+    }
 
+    private DependencyState addDependency(final Object objectId, final ActiveObjectDependency.Type type, final boolean optional) {
         final var result = new DependencyState(type, optional);
 
-        dependencies.put(objectId, result);
+        if (type == ActiveObjectDependency.Type.REQUIRED_FOR) {
+            if (requiredFor == null) {
+                requiredFor = new DependencyList();
+            }
+            requiredFor.put(objectId, result);
+            return result;
+        }
+
+        if (dependsOn == null) {
+            dependsOn = new DependencyList();
+        }
+        final var size = dependsOn.size();
+        dependsOn.put(objectId, result);
+        if (dependsOn.size() > size) {
+            final var ids = Arrays.copyOf(dependsOnIds, dependsOnIds.length + 1);
+            ids[ids.length - 1] = objectId;
+            dependsOnIds = ids;
+        }
 
         return result;
     }
 
-    private <R> void addToQueue(final QueueEntry<R> entry) {
-        final var message = entry.message();
-        if ((message instanceof Stop stop && stop.isForce())
-                || message instanceof InternalDestroy) {
-
-            if (queueTaskRunning.compareAndSet(true, false)) {
-                final var task = dispatchingTask.get();
-                if (task != null) {
-                    task.cancel(true);
-                }
-            }
-
+    private void addToQueue(final Object entry) {
+        final var message = QueueEntry.messageOf(entry);
+        final var kind = MessageKind.of(message);
+        if ((kind == MessageKind.STOP && ((Stop) message).isForce())
+                || kind == MessageKind.DESTROY) {
             queue.offerFirst(entry);
         } else {
-            queue.offerLast(entry);
+            final var element = coalescing != null ? coalescing.coalesce(entry) : entry;
+            if (element == null) {
+                // has replaced a waiting message with the same key
+                return;
+            }
+
+            final var limit = mailboxLimit;
+            final var admitted = limit != null && !kind.system ? limit.admit(element) : element;
+            if (admitted == null) {
+                return;
+            }
+            queue.offer(admitted);
+            if (coalescing != null) {
+                coalescing.register(element);
+            }
+        }
+        if (metricsEnabled) {
+            metrics.recordEnqueue();
         }
         processNextMessages();
     }
 
+    /**
+     * Waits for a result of another object, on an event loop other tasks of the loop are run in the meantime, so
+     * objects of the same partition do not block each other.
+     */
+    private static <R> R await(final CompletableFuture<R> future, final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        final var loop = EventLoop.current();
+        return loop != null ? loop.await(future, timeout, unit) : future.get(timeout, unit);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private OnMessageBatchListener<T> batchListener() {
+        if (instance instanceof OnMessageBatchListener<?> listener) {
+            return (OnMessageBatchListener<T>) listener;
+        } else if (lifecycle instanceof OnMessageBatchListener<?> listener) {
+            return (OnMessageBatchListener<T>) listener;
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the transition until its awaited future completes, then sends it to the mailbox to be resumed.
+     */
+    private void beginTransition(final PendingTransition pending, final Object entry) {
+        pending.setEntry(entry);
+        transition = pending;
+        pending.awaited().whenComplete((result, error) -> addToQueue(pending));
+    }
+
+    /**
+     * Checks whether a message to another object may be processed on the current thread: the sender is processing
+     * its own message and both objects share the executor, so in the partitioned mode the target stays on its loop.
+     */
+    private boolean canRunInline(final DefaultActiveObjectContext<?> target) {
+        return target.executor == executor && Thread.currentThread() == dispatchingThread;
+    }
+
+    private Object completeStart(final Start message, final ActiveObjectStatus oldStatus,
+                                 @Nullable final PendingDependencies starts) {
+        try {
+            if (starts != null) {
+                startedDependencies(starts);
+            }
+
+            if (instance instanceof OnStartListener l) {
+                l.onObjectStart(message, this);
+            } else if (lifecycle instanceof OnStartListener l) {
+                l.onObjectStart(message, this);
+            }
+
+            final var source = message.getSource();
+            if (source != null) {
+                addDependency(source.getId(), ActiveObjectDependency.Type.REQUIRED_FOR, message.isOptional()).setObject(source);
+            }
+
+//            startDynamicDependencies();
+
+            status = ActiveObjectStatus.STARTED;
+            publishSnapshot();
+        } catch (final Exception e) {
+            status = oldStatus;
+            throw e;
+        } finally {
+            fireEvent(LifecycleEventType.START, LifecycleEvent.Phase.END, message.getPath());
+        }
+
+        return this;
+    }
+
+    private Boolean completeStop(final Stop message, final ActiveObjectStatus oldStatus,
+                                 @Nullable final PendingDependencies stops) {
+        try {
+            if (stops != null) {
+                stoppedDependencies(stops);
+            }
+
+            if (instance instanceof OnStopListener l) {
+                l.onObjectStop(message, this);
+            } else if (lifecycle instanceof OnStopListener l) {
+                l.onObjectStop(message, this);
+            }
+
+            notifyStoppedDependsOnDependencies(message);
+
+            status = ActiveObjectStatus.STOPPED;
+        } catch (final RuntimeException e) {
+            return failStop(message, oldStatus, e);
+        }
+
+        fireEvent(LifecycleEventType.STOP, LifecycleEvent.Phase.END, message.getPath());
+        return Boolean.TRUE;
+    }
+
     private <R> CompletableFuture<R> dispatch(final Object message) {
-        final var dispatcherMessage = new QueueEntry<>(message, new CompletableFuture<R>());
+        final var dispatcherMessage = new QueueEntry<>(message, new CompletableFuture<R>(),
+                metricsEnabled ? System.nanoTime() : 0);
         addToQueue(dispatcherMessage);
         return dispatcherMessage.future();
     }
 
     private void dispatchNoResponse(final Object message) {
-        addToQueue(new QueueEntry<>(message, null));
+        addToQueue(metricsEnabled ? QueueEntry.timed(message) : message);
+    }
+
+    /**
+     * Completes a failed stop, a forced stop always stops the object.
+     */
+    private Boolean failStop(final Stop message, final ActiveObjectStatus oldStatus, final RuntimeException e) {
+        try {
+            if (!message.isForce()) {
+                status = oldStatus;
+                throw e;
+            }
+            status = ActiveObjectStatus.STOPPED;
+            return Boolean.TRUE;
+        } finally {
+            fireEvent(LifecycleEventType.STOP, LifecycleEvent.Phase.END, message.getPath());
+        }
+    }
+
+    private void fireEvent(final LifecycleEventType type, final LifecycleEvent.Phase phase, @Nullable final Object detail) {
+        if (!eventSink.isEnabled()) {
+            return;
+        }
+
+        // events keep only IDs of the path, not the objects
+        final var value = detail instanceof LifecyclePath path ? path.ids() : detail;
+
+        eventSink.accept(new LifecycleEvent(System.nanoTime(), id, type, phase, status, value));
+    }
+
+    /**
+     * Checks whether deferred entries can be processed, must be called by the owner of the dispatching task.
+     */
+    private boolean hasDeferred() {
+        return transition == null && deferred != null && !deferred.isEmpty();
+    }
+
+    /**
+     * Calls the {@link com.github.devmix.process.acto.listeners.OnMessage} method of the instance.
+     */
+    private Object invokeHandler(final MethodHandle handler, final Object message) throws Exception {
+        try {
+            return (Object) handler.invokeExact((Object) instance, message, (ActiveObjectContext<?>) this);
+        } catch (final Exception | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new DispatchingException(e.getMessage(), e);
+        }
+    }
+
+    private boolean isBatchable(final Object message, final MessageKind kind) {
+        return (status == ActiveObjectStatus.ACTIVATED || (status == ActiveObjectStatus.STARTED && !idleAllowed))
+                && kind == MessageKind.USER
+                && handlers.find(message.getClass()) == null;
     }
 
     private void notifyDependency(final Object message, final DependencyState dependency, final Object dependencyId) {
@@ -327,16 +698,19 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
     }
 
     private void notifyStoppedDependsOnDependencies(final Stop message) {
-        if (MapUtils.isNotEmpty(dependencies)) {
-            for (final var entry : dependencies.entrySet()) {
-                final var dependency = entry.getValue();
-                if (dependency.isResolved() && dependency.getType() == ActiveObjectDependency.Type.DEPENDS_ON) {
-                    if (message.isVisited(entry.getKey())) {
-                        dependency.setObject(null);
-                        dependency.setLastError(null);
-                    } else {
-                        notifyDependency(InternalUpstreamDependencyStopped.source(this), dependency, entry.getKey());
-                    }
+        if (dependsOn == null) {
+            return;
+        }
+
+        for (int i = 0; i < dependsOn.size(); i++) {
+            final var dependency = dependsOn.state(i);
+            if (dependency.isResolved()) {
+                final var dependencyId = dependsOn.id(i);
+                if (message.isVisited(dependencyId)) {
+                    dependency.setObject(null);
+                    dependency.setLastError(null);
+                } else {
+                    notifyDependency(InternalUpstreamDependencyStopped.source(this), dependency, dependencyId);
                 }
             }
         }
@@ -347,9 +721,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
             return;
         }
 
-        if (DEBUGGING_INFO) {
-            LOG.info("ACTIVATE ⟶ ⟶ [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-        }
+        fireEvent(LifecycleEventType.ACTIVATE, LifecycleEvent.Phase.BEGIN, null);
 
         final var oldStatus = status;
         try {
@@ -362,20 +734,20 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
             } else {
                 status = oldStatus;
             }
+
+            if (status == ActiveObjectStatus.ACTIVATED) {
+                scheduleHeartbeat(System.nanoTime() + idleTimeout);
+            }
         } catch (final Exception e) {
             status = oldStatus;
             throw e;
         } finally {
-            if (DEBUGGING_INFO) {
-                LOG.info("⟵ ⟵ ACTIVATE [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-            }
+            fireEvent(LifecycleEventType.ACTIVATE, LifecycleEvent.Phase.END, null);
         }
     }
 
     private void onCreate() {
-        if (DEBUGGING_INFO) {
-            LOG.info("CREATE ⟶ ⟶ [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-        }
+        fireEvent(LifecycleEventType.CREATE, LifecycleEvent.Phase.BEGIN, null);
 
         final var oldStatus = status;
         try {
@@ -392,9 +764,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
             status = oldStatus;
             throw e;
         } finally {
-            if (DEBUGGING_INFO) {
-                LOG.info("⟵ ⟵ CREATE [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-            }
+            fireEvent(LifecycleEventType.CREATE, LifecycleEvent.Phase.END, null);
         }
     }
 
@@ -408,11 +778,7 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         if (force || now - lastActivityTime > idleTimeout) {
             final var oldStatus = status;
             try {
-                if (DEBUGGING_INFO) {
-                    LOG.info("DEACTIVATE ⟶ ⟶ F:{} T:{} [{}]",
-                            force, TimeUnit.NANOSECONDS.toMillis(now - lastActivityTime),
-                            ObjectInfoUtils.printObjectState(id, dependencies, status));
-                }
+                fireEvent(LifecycleEventType.DEACTIVATE, LifecycleEvent.Phase.BEGIN, force);
 
                 status = ActiveObjectStatus.DEACTIVATING;
 
@@ -431,18 +797,13 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
                     throw e;
                 }
             } finally {
-                if (DEBUGGING_INFO) {
-                    LOG.info("⟵ ⟵ DEACTIVATE F:{}, [{}]",
-                            force, ObjectInfoUtils.printObjectState(id, dependencies, status));
-                }
+                fireEvent(LifecycleEventType.DEACTIVATE, LifecycleEvent.Phase.END, force);
             }
         }
     }
 
     private void onDestroy(final InternalDestroy message) {
-        if (DEBUGGING_INFO) {
-            LOG.info("DESTROY ⟶ ⟶ [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-        }
+        fireEvent(LifecycleEventType.DESTROY, LifecycleEvent.Phase.BEGIN, null);
 
         final var oldStatus = status;
         try {
@@ -454,10 +815,11 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
                 l.onObjectDestroy(this);
             }
 
-            if (MapUtils.isNotEmpty(dependencies)) {
-                for (final var dependency : dependencies.values()) {
-                    dependency.setObject(null);
-                }
+            if (dependsOn != null) {
+                dependsOn.releaseObjects();
+            }
+            if (requiredFor != null) {
+                requiredFor.releaseObjects();
             }
 
             status = ActiveObjectStatus.DESTROYED;
@@ -465,260 +827,327 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
             status = oldStatus;
             throw e;
         } finally {
-            if (DEBUGGING_INFO) {
-                LOG.info("⟵ ⟵ DESTROY [{}]", ObjectInfoUtils.printObjectState(id, dependencies, status));
-            }
+            fireEvent(LifecycleEventType.DESTROY, LifecycleEvent.Phase.END, null);
+        }
+    }
+
+    /**
+     * Runs on the thread of the heartbeat scheduler, sends a heartbeat if the idle timeout has expired since the
+     * last activity, otherwise schedules the timer again for the new deadline.
+     */
+    private void onHeartbeatTimer() {
+        heartbeatScheduled.set(false);
+        if (!idleAllowed || status != ActiveObjectStatus.ACTIVATED) {
+            return;
+        }
+
+        final var deadline = lastActivityTime + idleTimeout;
+        if (System.nanoTime() - deadline > 0) {
+            dispatchNoResponse(InternalHeartbeat.standard());
+        } else {
+            scheduleHeartbeat(deadline);
         }
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private Object onMessage(final Object message) throws Exception {
+    private Object onMessage(final Object message, final MessageKind kind) throws Exception {
         try {
-            if (message instanceof AttributeGetter action) {
-                return action.get(instance);
-            } else if (message instanceof InvokeAndGet m) {
-                return m.run(instance);
+            final var handler = kind == MessageKind.USER ? handlers.find(message.getClass()) : null;
+            if (handler != null) {
+                return invokeHandler(handler, message);
+            } else if (kind == MessageKind.ATTRIBUTE_GETTER) {
+                return ((AttributeGetter) message).get(instance);
+            } else if (kind == MessageKind.INVOKE_AND_GET) {
+                return ((InvokeAndGet) message).run(instance);
+            } else if (kind == MessageKind.PROXY_CALL) {
+                return ((ProxyMessage) message).run(instance);
+            } else if (batchListener() instanceof OnMessageBatchListener listener) {
+                final var results = listener.onObjectMessages(List.of(message), this);
+                return results != null ? results.get(0) : null;
             } else if (instance instanceof OnMessageListener listener) {
                 return listener.onObjectMessage(message, this);
             } else if (lifecycle instanceof OnMessageListener listener) {
                 return listener.onObjectMessage(message, this);
-            } else if (message instanceof Invoke m) {
-                m.run(instance);
+            } else if (kind == MessageKind.INVOKE) {
+                ((Invoke) message).run(instance);
                 return null;
-            } else if (message instanceof InternalSetAttribute m) {
+            } else if (kind == MessageKind.SET_ATTRIBUTE) {
+                final var m = (InternalSetAttribute) message;
                 m.getAction().set(instance, m.getValue());
                 return null;
             }
         } finally {
+            if (kind != MessageKind.ATTRIBUTE_GETTER) {
+                publishSnapshot();
+            }
             updateLastActivityTime();
         }
         throw new DispatchingException("Unsupported message: " + message);
     }
 
+    /**
+     * Starts dependencies and the object. If the object has dependencies it stays in {@link ActiveObjectStatus#STARTING}
+     * and the start is completed by a pending transition when all dependencies have replied or the timeout expired.
+     */
     private Object onStart(final Start message) {
-        if (DEBUGGING_INFO) {
-            LOG.info("START ⟶ ⟶ C:{} [{}]",
-                    ObjectInfoUtils.unrollChain(message.getChain()),
-                    ObjectInfoUtils.printObjectState(id, dependencies, status));
-        }
+        fireEvent(LifecycleEventType.START, LifecycleEvent.Phase.BEGIN, message.getPath());
 
         final var oldStatus = status;
+        final PendingDependencies starts;
         try {
             status = ActiveObjectStatus.STARTING;
 
             message.starting(this);
 
-            startDependsOnDependencies(message);
-
-            if (instance instanceof OnStartListener l) {
-                l.onObjectStart(message, this);
-            } else if (lifecycle instanceof OnStartListener l) {
-                l.onObjectStart(message, this);
-            }
-
-            final var source = message.getSource();
-            if (source != null) {
-                addDependency(source.getId(), ActiveObjectDependency.Type.REQUIRED_FOR, message.isOptional()).setObject(source);
-            }
-
-//            startDynamicDependencies();
-
-            status = ActiveObjectStatus.STARTED;
+            starts = startDependsOnDependencies(message);
         } catch (final Exception e) {
             status = oldStatus;
+            fireEvent(LifecycleEventType.START, LifecycleEvent.Phase.END, message.getPath());
             throw e;
-        } finally {
-            if (DEBUGGING_INFO) {
-                LOG.info("⟵ ⟵ START C:{} [{}]",
-                        ObjectInfoUtils.unrollChain(message.getChain()),
-                        ObjectInfoUtils.printObjectState(id, dependencies, status));
-            }
         }
 
-        return this;
+        if (starts == null) {
+            return completeStart(message, oldStatus, null);
+        }
+        return new PendingTransition(starts.completion(), () -> completeStart(message, oldStatus, starts));
     }
 
-    private Boolean onStop(final Stop message) {
-        if (DEBUGGING_INFO) {
-            LOG.info("STOP ⟶ ⟶ C:{} [{}]",
-                    ObjectInfoUtils.unrollChain(message.getChain()),
-                    ObjectInfoUtils.printObjectState(id, dependencies, status));
+    /**
+     * Replies to a start of the object which has been started already, e.g. by another object depending on it.
+     */
+    private Object onStartedAgain(final Start message) {
+        final var source = message.getSource();
+        if (source != null && findRequiredFor(source.getId()) == null) {
+            addDependency(source.getId(), ActiveObjectDependency.Type.REQUIRED_FOR, message.isOptional()).setObject(source);
         }
+        return this;
+    }
 
-        final var force = message.isForce();
+    /**
+     * Stops objects which require this one and then the object itself, waiting for them like {@link #onStart(Start)}
+     * waits for dependencies.
+     */
+    private Object onStop(final Stop message) {
+        fireEvent(LifecycleEventType.STOP, LifecycleEvent.Phase.BEGIN, message.getPath());
 
         final var source = message.getSource();
-        if (source != null && !force) {
+        if (source != null && !message.isForce()) {
             return Boolean.FALSE;
         }
 
         final var oldStatus = status;
+        final PendingDependencies stops;
         try {
             status = ActiveObjectStatus.STOPPING;
+            // snapshots of a stopped object are not served, a failed stop publishes them again with next messages
+            snapshot = null;
 
             message.stopping(this);
 
-            stopRequiredForDependencies(message);
+            stops = stopRequiredForDependencies(message);
+        } catch (final RuntimeException e) {
+            return failStop(message, oldStatus, e);
+        }
 
-            if (instance instanceof OnStopListener l) {
-                l.onObjectStop(message, this);
-            } else if (lifecycle instanceof OnStopListener l) {
-                l.onObjectStop(message, this);
-            }
+        if (stops == null) {
+            return completeStop(message, oldStatus, null);
+        }
+        return new PendingTransition(stops.completion(), () -> completeStop(message, oldStatus, stops));
+    }
 
-            notifyStoppedDependsOnDependencies(message);
+    private void onUpstreamDependencyStopped(final InternalUpstreamDependencyStopped message) {
+        fireEvent(LifecycleEventType.UPSTREAM_DEPENDENCY_STOPPED, LifecycleEvent.Phase.BEGIN, message.getSource().getId());
 
-            status = ActiveObjectStatus.STOPPED;
+        if (requiredFor != null) {
+            requiredFor.remove(message.getSource().getId());
+        }
+
+        fireEvent(LifecycleEventType.UPSTREAM_DEPENDENCY_STOPPED, LifecycleEvent.Phase.END, message.getSource().getId());
+    }
+
+    private void processBatch(final OnMessageBatchListener<T> listener, final List<Object> batch) {
+        final var messages = new ArrayList<>(batch.size());
+        for (final var entry : batch) {
+            messages.add(QueueEntry.messageOf(entry));
+        }
+
+        final var start = metricsEnabled ? System.nanoTime() : 0;
+        try {
+            final var results = listener.onObjectMessages(messages, this);
+            publishSnapshot();
+            if (results != null && results.size() != batch.size()) {
+                throw new DispatchingException("Expected " + batch.size() + " results of the batch but received "
+                        + results.size());
+            }
+            recordService(start, batch.size(), false);
+            for (var i = 0; i < batch.size(); i++) {
+                QueueEntry.complete(batch.get(i), results != null ? results.get(i) : null);
+            }
         } catch (final Exception e) {
-            if (force) {
-                status = ActiveObjectStatus.STOPPED;
-            } else {
-                status = oldStatus;
-                throw e;
+            recordService(start, batch.size(), true);
+            LOG.error(e.getMessage(), e);
+            publishSnapshot();
+            for (final var entry : batch) {
+                QueueEntry.completeExceptionally(entry, e);
             }
         } finally {
-            if (DEBUGGING_INFO) {
-                LOG.info("⟵ ⟵ STOP C:{} [{}]",
-                        ObjectInfoUtils.unrollChain(message.getChain()),
-                        ObjectInfoUtils.printObjectState(id, dependencies, status));
-            }
+            batch.clear();
+            updateLastActivityTime();
         }
-
-        return Boolean.TRUE;
     }
 
-    private void onUpstreamDependencyStopped(final InternalUpstreamDependencyStopped message) {
-        if (DEBUGGING_INFO) {
-            LOG.info("REMOVE UPSTREAM DEP ⟶ ⟶ ID:{} [{}]",
-                    message.getSource().getId(), ObjectInfoUtils.printObjectState(id, dependencies, status));
+    /**
+     * Processes an entry of the mailbox. While a transition is pending, only system messages which do not depend on
+     * the status are processed, other entries are deferred until the transition completes.
+     */
+    private void processEntry(final Object entry, final MessageKind kind) {
+        final var message = QueueEntry.messageOf(entry);
+        if (transition != null && kind != MessageKind.TRANSITION
+                && kind != MessageKind.UPSTREAM_DEPENDENCY_STOPPED && kind != MessageKind.HEARTBEAT) {
+            if (deferred == null) {
+                deferred = new ArrayDeque<>();
+            }
+            deferred.add(entry);
+            return;
         }
 
-        if (MapUtils.isNotEmpty(dependencies)) {
-            final var dependencyId = message.getSource().getId();
-            final var dependency = dependencies.get(dependencyId);
-            if (dependency != null) {
-                if (dependency.getType() != ActiveObjectDependency.Type.REQUIRED_FOR) {
-                    //TODO SG exception
-                } else {
-                    dependencies.remove(dependencyId);
-                }
+        final var target = kind == MessageKind.TRANSITION ? ((PendingTransition) message).entry() : entry;
+        final var start = metricsEnabled ? System.nanoTime() : 0;
+        try {
+            final var result = kind == MessageKind.TRANSITION
+                    ? resumeTransition((PendingTransition) message) : processNextMessage(message, kind);
+            recordService(start, 1, false);
+            if (result instanceof PendingTransition pending) {
+                beginTransition(pending, target);
+            } else {
+                QueueEntry.complete(target, result);
             }
+        } catch (final Exception e) {
+            recordService(start, 1, true);
+            LOG.error(e.getMessage(), e);
+            QueueEntry.completeExceptionally(target, e);
         }
+    }
 
-        if (DEBUGGING_INFO) {
-            LOG.info("⟵ ⟵ REMOVED UPSTREAM DEP ID:{} [{}]",
-                    message.getSource().getId(), ObjectInfoUtils.printObjectState(id, dependencies, status));
+    private Object processNextMessage(final Object message, final MessageKind kind) throws Exception {
+        // system messages handled during a pending transition too
+        if (kind == MessageKind.UPSTREAM_DEPENDENCY_STOPPED) {
+            onUpstreamDependencyStopped((InternalUpstreamDependencyStopped) message);
+            return null;
+        } else if (kind == MessageKind.HEARTBEAT && transition != null) {
+            return null;
         }
-    }
 
-    private Object processNextMessage(final Object message) throws Exception {
         if (status.isTransient()) {
             throw new DispatchingException("Illegal state for the message processing: " + status);
         }
 
-        // system messages
-        if (message instanceof InternalUpstreamDependencyStopped m) {
-            onUpstreamDependencyStopped(m);
+        if (kind == MessageKind.BARRIER) {
             return null;
         }
 
         // lifecycle & user messages
         switch (status) {
             case CREATED:
-                if (message instanceof InternalHeartbeat) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Start m) {
-                    return onStart(m);
-                } else if (message instanceof Idle.Activate) {
-                    final var object = onStart(Start.standard());
-                    onActivate(Idle.activate());
-                    return object;
-                } else if (message instanceof Idle.Deactivate) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Stop m) {
-                    return onStop(m);
-                } else if (message instanceof InternalDestroy m) {
-                    onDestroy(m);
-                    return null;
+                switch (kind) {
+                    case HEARTBEAT:
+                    case DEACTIVATE:
+                        // ignore
+                        return null;
+                    case START:
+                        return onStart((Start) message);
+                    case ACTIVATE:
+                        return PendingTransition.andThen(onStart(Start.standard()), () -> {
+                            onActivate(Idle.activate());
+                            return this;
+                        });
+                    case STOP:
+                        return onStop((Stop) message);
+                    case DESTROY:
+                        onDestroy((InternalDestroy) message);
+                        return null;
+                    default:
+                        return PendingTransition.andThen(onStart(Start.standard()), () -> {
+                            onActivate(Idle.activate());
+                            return onMessage(message, kind);
+                        });
                 }
 
-                onStart(Start.standard());
-                onActivate(Idle.activate());
-                return onMessage(message);
-
             case STARTED:
             case DEACTIVATED:
-                if (message instanceof InternalHeartbeat) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Start) {
-                    // ignore
-                    return instance;
-                } else if (message instanceof Idle.Activate) {
-                    onActivate(Idle.activate());
-                    return null;
-                } else if (message instanceof Idle.Deactivate) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Stop m) {
-                    return onStop(m);
-                } else if (message instanceof InternalDestroy m) {
-                    if (status != ActiveObjectStatus.DEACTIVATED) {
-                        onDeactivate(Idle.deactivateNow());
-                    }
-                    onStop(Stop.force());
-                    onDestroy(m);
-                    return null;
+                switch (kind) {
+                    case HEARTBEAT:
+                    case DEACTIVATE:
+                        // ignore
+                        return null;
+                    case START:
+                        return onStartedAgain((Start) message);
+                    case ACTIVATE:
+                        onActivate(Idle.activate());
+                        return null;
+                    case STOP:
+                        return onStop((Stop) message);
+                    case DESTROY:
+                        if (status != ActiveObjectStatus.DEACTIVATED) {
+                            onDeactivate(Idle.deactivateNow());
+                        }
+                        return PendingTransition.andThen(onStop(Stop.force()), () -> {
+                            onDestroy((InternalDestroy) message);
+                            return null;
+                        });
+                    default:
+                        onActivate(Idle.activate());
+                        return onMessage(message, kind);
                 }
 
-                onActivate(Idle.activate());
-                return onMessage(message);
-
             case ACTIVATED:
-                if (message instanceof InternalHeartbeat) {
-                    onDeactivate(Idle.deactivate());
-                    return null;
-                } else if (message instanceof Start) {
-                    // ignore
-                    return instance;
-                } else if (message instanceof Idle.Activate) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Idle.Deactivate) {
-                    onDeactivate(Idle.deactivate());
-                    return null;
-                } else if (message instanceof Stop m) {
-                    return onStop(m);
-                } else if (message instanceof InternalDestroy m) {
-                    onDeactivate(Idle.deactivateNow());
-                    onStop(Stop.force());
-                    onDestroy(m);
-                    return null;
+                switch (kind) {
+                    case HEARTBEAT:
+                        onDeactivate(Idle.deactivate());
+                        if (status == ActiveObjectStatus.ACTIVATED) {
+                            scheduleHeartbeat(lastActivityTime + idleTimeout);
+                        }
+                        return null;
+                    case START:
+                        return onStartedAgain((Start) message);
+                    case ACTIVATE:
+                        // ignore
+                        return null;
+                    case DEACTIVATE:
+                        onDeactivate(Idle.deactivate());
+                        return null;
+                    case STOP:
+                        return onStop((Stop) message);
+                    case DESTROY:
+                        onDeactivate(Idle.deactivateNow());
+                        return PendingTransition.andThen(onStop(Stop.force()), () -> {
+                            onDestroy((InternalDestroy) message);
+                            return null;
+                        });
+                    default:
+                        return onMessage(message, kind);
                 }
 
-                return onMessage(message);
-
             case STOPPED:
-                if (message instanceof InternalHeartbeat) {
-                    // ignore
-                    return null;
-                } else if (message instanceof Start m) {
-                    return onStart(m);
-                } else if (message instanceof Stop) {
-                    // ignore
-                    return Boolean.TRUE;
-                } else if (message instanceof InternalDestroy m) {
-                    onDestroy(m);
-                    return null;
+                switch (kind) {
+                    case HEARTBEAT:
+                        // ignore
+                        return null;
+                    case START:
+                        return onStart((Start) message);
+                    case STOP:
+                        // ignore
+                        return Boolean.TRUE;
+                    case DESTROY:
+                        onDestroy((InternalDestroy) message);
+                        return null;
+                    default:
+                        // User message || ActivateMessage || DeactivateMessage -> exception
                 }
-
-                // User message || ActivateMessage || DeactivateMessage -> exception
                 break;
 
             case DESTROYED:
-                if (message instanceof InternalDestroy) {
+                if (kind == MessageKind.DESTROY) {
                     // ignore
                     return null;
                 }
@@ -735,67 +1164,289 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
             return;
         }
 
-        final var task = new QueueDispatchingTask();
-        executor.submit(task);
-        dispatchingTask.set(task);
+        try {
+            executor.execute(queueTask);
+        } catch (final RejectedExecutionException e) {
+            queueTaskRunning.set(false);
+            throw new DispatchingException("Cannot dispatch messages of object [" + id + "]", e);
+        }
     }
 
-    private void startDependency(final Start message, final DependencyState dependency, final Object dependencyId) {
-        // TODO SG configurable timeout
+    /**
+     * Publishes a snapshot of the instance for {@link SnapshotGetter} reads, must be called by the owner of the
+     * dispatching task before the result of the message is completed.
+     */
+    private void publishSnapshot() {
+        final var listener = snapshotListener;
+        if (listener == null) {
+            return;
+        }
+
         try {
-            dependency.setObject(this.<ActiveObject<?>>redirectRequest(dependencyId, message).get(15, TimeUnit.SECONDS));
-            dependency.setLastError(null);
-        } catch (final Exception e) {
-            dependency.setLastError(e.getMessage());
-            if (!dependency.isOptional()) {
-                throw new DependencyException("Cannot start dependency: " + dependencyId, e);
-            } else {
-                LOG.warn("Cannot start optional dependency: {}", dependencyId, e);
+            snapshot = listener.onObjectSnapshot(this);
+        } catch (final RuntimeException e) {
+            // reads go through the mailbox until the next snapshot
+            snapshot = null;
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds the recipient of a redirected message. On the dispatching thread recently used recipients are taken from
+     * the cache of the context, which is dropped when any object of the dispatcher is destroyed.
+     */
+    private ActiveObject<?> recipientOf(final Object objectId) {
+        final var epoch = registryEpoch;
+        if (epoch == null || Thread.currentThread() != dispatchingThread) {
+            return dispatcher.getById(objectId);
+        }
+
+        if (recipients == null) {
+            recipients = new RecipientCache();
+        }
+
+        final var current = epoch.current();
+        var recipient = recipients.get(objectId, current);
+        if (recipient == null) {
+            recipient = dispatcher.getById(objectId);
+            recipients.put(objectId, recipient, current);
+        }
+        return recipient;
+    }
+
+    private void recordService(final long start, final int messages, final boolean failed) {
+        if (metricsEnabled) {
+            metrics.recordService(System.nanoTime() - start, messages, failed);
+        }
+    }
+
+    private Object resumeTransition(final PendingTransition pending) throws Exception {
+        transition = null;
+        return pending.resume();
+    }
+
+    private void scheduleHeartbeat(final long deadline) {
+        final var scheduler = heartbeatScheduler;
+        if (scheduler != null && idleAllowed && heartbeatScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(heartbeatTimer, deadline);
+        }
+    }
+
+    /**
+     * Sends the start to a dependency without waiting for it.
+     */
+    private CompletableFuture<Object> startDependency(final Start message, final DependencyState dependency,
+                                                      final Object dependencyId) {
+        try {
+            return redirectRequest(dependencyId, Start.downstream(this, message, dependency.isOptional()));
+        } catch (final RegistryException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends the start to all dependencies together.
+     *
+     * @return the pending starts, or null if the object has no dependencies to start
+     */
+    @Nullable
+    private PendingDependencies startDependsOnDependencies(final Start message) {
+        if (dependsOn == null || dependsOn.isEmpty()) {
+            return null;
+        }
+
+        final var count = dependsOn.size();
+        for (int i = 0; i < count; i++) {
+            if (message.isVisited(dependsOn.id(i))) {
+                throw new DependencyException("Cyclic dependency: " + ObjectInfoUtils.unrollChain(message.getPath()));
             }
         }
+
+        final var dependencyIds = new Object[count];
+        final var dependencyStates = new DependencyState[count];
+        final var starts = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            dependencyIds[i] = dependsOn.id(i);
+            dependencyStates[i] = dependsOn.state(i);
+            starts[i] = startDependency(message, dependencyStates[i], dependencyIds[i]);
+        }
+        return new PendingDependencies(dependencyIds, dependencyStates, starts, dependencyTimeout);
     }
 
-    private void startDependsOnDependencies(final Start message) {
-        if (MapUtils.isNotEmpty(dependencies)) {
-            for (final var entry : dependencies.entrySet()) {
-                final var dependency = entry.getValue();
-                if (dependency.getType() == ActiveObjectDependency.Type.DEPENDS_ON) {
-                    final var dependencyId = entry.getKey();
-                    if (message.isVisited(dependencyId)) {
-                        throw new DependencyException("Cyclic dependency: " + ObjectInfoUtils.unrollChain(message.getChain()));
-                    }
+    /**
+     * Resolves all started dependencies. Failures of optional dependencies are only recorded, the first failure of a
+     * required one fails the start of this object.
+     */
+    private void startedDependencies(final PendingDependencies starts) {
+        DependencyException failure = null;
+        for (int i = 0; i < starts.ids().length; i++) {
+            final var dependencyId = starts.ids()[i];
+            final var dependency = starts.states()[i];
+            final var error = startedDependency(starts.results()[i], dependency);
+            if (error == null) {
+                continue;
+            }
 
-                    startDependency(Start.downstream(this, message, dependency.isOptional()), dependency, dependencyId);
+            dependency.setLastError(error.getMessage());
+            if (!dependency.isOptional()) {
+                if (failure == null) {
+                    failure = new DependencyException("Cannot start dependency: " + dependencyId, error);
                 }
+            } else {
+                LOG.warn("Cannot start optional dependency: {}", dependencyId, error);
             }
         }
+
+        if (failure != null) {
+            throw failure;
+        }
     }
 
-    private boolean stopDependency(final Stop message, final DependencyState dependency, final Object dependencyId) {
-        // TODO SG configurable timeout
+    /**
+     * Resolves a dependency by the result of its start.
+     *
+     * @return the error of the start, or null if the dependency has been started
+     */
+    @Nullable
+    private Throwable startedDependency(final CompletableFuture<?> start, final DependencyState dependency) {
+        if (!start.isDone()) {
+            return new TimeoutException("Dependency has not started within " + dependencyTimeout + " ms");
+        }
+
         try {
-            final var success = Boolean.TRUE.equals(dependency.getObject().request(message).get(15, TimeUnit.SECONDS));
+            dependency.setObject((ActiveObject<?>) start.join());
             dependency.setLastError(null);
-            dependency.setObject(null);
-            return success;
-        } catch (final Exception e) {
-            dependency.setLastError(e.getMessage());
-            throw new DependencyException("Cannot stop dependency: " + dependencyId);
+            return null;
+        } catch (final CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
         }
     }
 
-    private void stopRequiredForDependencies(final Stop message) {
-        if (MapUtils.isNotEmpty(dependencies)) {
-            for (final var entry : new ArrayList<>(dependencies.entrySet())) {
-                final var dependency = entry.getValue();
-                if (dependency.isResolved() && dependency.getType() == ActiveObjectDependency.Type.REQUIRED_FOR) {
-                    final var dependencyId = entry.getKey();
-                    final var upstreamMsg = Stop.upstream(this, message);
-                    if (!stopDependency(upstreamMsg, dependency, dependencyId)) {
-                        throw new ObjectStopException("Object [" + id + "] cannot be stopped because blocked by [" + dependencyId + "]", dependencyId);
-                    }
-                    dependencies.remove(dependencyId);
-                }
+    private void stoppedDependencies(final PendingDependencies stops) {
+        RuntimeException failure = null;
+        for (int i = 0; i < stops.ids().length; i++) {
+            final var error = stoppedDependency(stops.results()[i], stops.states()[i], stops.ids()[i]);
+            if (failure == null) {
+                failure = error;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Resolves a dependency by the result of its stop.
+     *
+     * @return the error of the stop, or null if the dependency has been stopped
+     */
+    @Nullable
+    private RuntimeException stoppedDependency(final CompletableFuture<?> stop, final DependencyState dependency,
+                                               final Object dependencyId) {
+        if (!stop.isDone()) {
+            dependency.setLastError("Dependency has not stopped within " + dependencyTimeout + " ms");
+            return new DependencyException("Cannot stop dependency: " + dependencyId);
+        }
+
+        final Object result;
+        try {
+            result = stop.join();
+        } catch (final CompletionException e) {
+            dependency.setLastError(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return new DependencyException("Cannot stop dependency: " + dependencyId);
+        }
+
+        dependency.setLastError(null);
+        dependency.setObject(null);
+        if (!Boolean.TRUE.equals(result)) {
+            return new ObjectStopException("Object [" + id + "] cannot be stopped because blocked by [" + dependencyId + "]", dependencyId);
+        }
+        if (requiredFor != null) {
+            requiredFor.remove(dependencyId);
+        }
+        return null;
+    }
+
+    /**
+     * Sends the stop to all resolved objects which require this one.
+     *
+     * @return the pending stops, or null if there is nothing to stop
+     */
+    @Nullable
+    private PendingDependencies stopRequiredForDependencies(final Stop message) {
+        if (requiredFor == null) {
+            return null;
+        }
+
+        var count = 0;
+        for (int i = 0; i < requiredFor.size(); i++) {
+            if (requiredFor.state(i).isResolved()) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+
+        final var dependencyIds = new Object[count];
+        final var dependencyStates = new DependencyState[count];
+        final var stops = new CompletableFuture<?>[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            final var dependency = requiredFor.state(i);
+            if (dependency.isResolved()) {
+                dependencyIds[n] = requiredFor.id(i);
+                dependencyStates[n] = dependency;
+                stops[n++] = dependency.getObject().request(Stop.upstream(this, message));
+            }
+        }
+        return new PendingDependencies(dependencyIds, dependencyStates, stops, dependencyTimeout);
+    }
+
+    /**
+     * Processes a user message on the current thread if the object is idle and its mailbox is empty, claiming the
+     * dispatching task like the executor does, so messages of the object are still processed one at a time and in
+     * order. Nested inline calls are limited by {@link #MAX_INLINE_DEPTH}.
+     *
+     * @return the result of the message, or {@link #NOT_INLINED} if the message must be sent through the mailbox
+     */
+    private Object tryProcessInline(final Object message) throws Exception {
+        final var currentStatus = status;
+        final var kind = MessageKind.of(message);
+        if ((currentStatus != ActiveObjectStatus.STARTED && currentStatus != ActiveObjectStatus.ACTIVATED)
+                || kind.system || !queue.isEmpty()) {
+            return NOT_INLINED;
+        }
+
+        final var depth = INLINE_DEPTH.get();
+        if (depth[0] >= MAX_INLINE_DEPTH || !queueTaskRunning.compareAndSet(false, true)) {
+            return NOT_INLINED;
+        }
+
+        depth[0]++;
+        dispatchingThread = Thread.currentThread();
+        try {
+            // messages which have arrived before the claim must be processed first
+            if (!queue.isEmpty() || hasDeferred()) {
+                return NOT_INLINED;
+            }
+
+            final var start = metricsEnabled ? System.nanoTime() : 0;
+            try {
+                final var result = processNextMessage(message, kind);
+                recordService(start, 1, false);
+                return result;
+            } catch (final Exception e) {
+                recordService(start, 1, true);
+                throw e;
+            }
+        } finally {
+            depth[0]--;
+            final var replay = hasDeferred();
+            dispatchingThread = null;
+            queueTaskRunning.set(false);
+            if (replay || !queue.isEmpty()) {
+                processNextMessages();
             }
         }
     }
@@ -804,56 +1455,109 @@ public class DefaultActiveObjectContext<T> implements ActiveObjectContext<T>, Ac
         lastActivityTime = System.nanoTime();
     }
 
-    private final class QueueDispatchingTask extends ForkJoinTask<Void> {
-        @Serial
-        private static final long serialVersionUID = -1386299394796439117L;
+    private final class QueueDispatchingTask implements Runnable {
 
-        public boolean exec() {
+        @Override
+        public void run() {
             //            numberOfThreads.incrementAndGet();
+            final var dispatchingDepth = DISPATCHING_DEPTH.get();
+            dispatchingDepth[0]++;
+            dispatchingThread = Thread.currentThread();
+            final var quota = throughputQuota;
+            final var maxMessages = quota.maxMessages();
+            final var deadline = quota.time() > 0 ? System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(quota.time()) : 0;
+            final var batchListener = batchListener();
+            final var batch = batchListener != null ? new ArrayList<>() : null;
+            var processed = 0;
             try {
                 while (queueTaskRunning.get()) {
-                    var msg = queue.poll();
+                    // deferred entries have left the mailbox already
+                    var msg = transition == null && deferred != null ? deferred.poll() : null;
                     if (msg == null) {
-                        if (waitMessagesTimeout > 0) {
+                        msg = queue.poll();
+                        if (msg == null) {
+                            if (batch != null && !batch.isEmpty()) {
+                                processBatch(batchListener, batch);
+                                continue;
+                            }
+                            if (waitMessagesTimeout <= 0) {
+                                break;
+                            }
                             try {
-                                msg = queue.poll(waitMessagesTimeout, TimeUnit.MILLISECONDS);
-                                if (msg == null) {
-                                    break;
-                                }
+                                msg = idleStrategy.await(queue, waitMessagesTimeout, TimeUnit.MILLISECONDS);
                             } catch (final InterruptedException e) {
                                 break;
                             }
-                        } else {
-                            break;
+                            if (msg == null) {
+                                break;
+                            }
+                        }
+
+                        final var limit = mailboxLimit;
+                        final var admitted = limit != null ? limit.release(msg) : msg;
+                        if (admitted != null) {
+                            msg = coalescing != null ? coalescing.take(admitted) : admitted;
+                        }
+
+                        if (metricsEnabled) {
+                            metrics.recordDequeue(QueueEntry.waitTimeOf(msg));
+                        }
+
+                        if (admitted == null) {
+                            // evicted by the overflow policy, its caller has been notified already
+                            continue;
                         }
                     }
-                    try {
-                        msg.success(processNextMessage(msg.message()));
-                    } catch (final Exception e) {
-                        LOG.error(e.getMessage(), e);
-                        msg.fail(e);
+
+                    final var message = QueueEntry.messageOf(msg);
+                    final var kind = MessageKind.of(message);
+
+                    if (batch != null && isBatchable(message, kind)) {
+                        batch.add(msg);
+                    } else {
+                        if (batch != null && !batch.isEmpty()) {
+                            processBatch(batchListener, batch);
+                        }
+                        processEntry(msg, kind);
+                    }
+
+                    if (++processed >= maxMessages || (quota.time() > 0 && System.nanoTime() - deadline >= 0)) {
+                        break;
                     }
                 }
+
+                if (batch != null && !batch.isEmpty()) {
+                    processBatch(batchListener, batch);
+                }
             } finally {
 //                if (numberOfThreads.decrementAndGet() > 0) {
 //                    LOG.warn("parallel threads in the dispatcher {}, {}", numberOfThreads.get(), id);
 //                } else {
 //                LOG.warn("stop dispatcher {}, {}", numberOfThreads.get(), id);
 //                }
-                dispatchingTask.set(null);
+                dispatchingDepth[0]--;
+                final var replay = hasDeferred();
+                dispatchingThread = null;
                 queueTaskRunning.set(false);
-                if (!queue.isEmpty()) {
+                if (replay || !queue.isEmpty()) {
+                    if (metricsEnabled) {
+                        metrics.recordResubmission();
+                    }
                     processNextMessages();
                 }
             }
-            return true;
         }
+    }
 
-        public Void getRawResult() {
-            return null;
-        }
+    /**
+     * Requests sent to dependencies, completed when all of them have replied or the timeout has expired.
+     */
+    private record PendingDependencies(Object[] ids, DependencyState[] states, CompletableFuture<?>[] results,
+                                       CompletableFuture<Void> completion) {
 
-        public void setRawResult(final Void v) {
+        PendingDependencies(final Object[] ids, final DependencyState[] states, final CompletableFuture<?>[] results,
+                            final long timeout) {
+            this(ids, states, results, CompletableFuture.allOf(results).completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS));
         }
     }
 }
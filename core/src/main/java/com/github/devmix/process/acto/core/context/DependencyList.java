@@ -0,0 +1,148 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Dependencies of one type kept in parallel arrays of IDs and states, owned by one context and used only by its
+ * dispatching thread. Most objects have a few dependencies which are found by a linear scan, an index of positions is
+ * built only for long lists, e.g. for objects required by many others. Removal moves the last entry to the free
+ * position, so the order of entries is not preserved.
+ *
+ * @author Sergey Grachev
+ */
+final class DependencyList {
+
+    static final int INITIAL_CAPACITY = 4;
+    static final int INDEX_THRESHOLD = 16;
+
+    private Object[] ids = new Object[INITIAL_CAPACITY];
+    private DependencyState[] states = new DependencyState[INITIAL_CAPACITY];
+    private int size;
+    private @Nullable HashMap<Object, Integer> index;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Object id(final int position) {
+        return ids[position];
+    }
+
+    DependencyState state(final int position) {
+        return states[position];
+    }
+
+    @Nullable
+    DependencyState find(final Object id) {
+        final var position = positionOf(id);
+        return position < 0 ? null : states[position];
+    }
+
+    /**
+     * Adds the dependency or replaces the state of the existing one with the same ID.
+     *
+     * @param id    the ID of the dependency
+     * @param state the state of the dependency
+     */
+    void put(final Object id, final DependencyState state) {
+        final var position = positionOf(id);
+        if (position >= 0) {
+            states[position] = state;
+            return;
+        }
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        ids[size] = id;
+        states[size] = state;
+        if (index != null) {
+            index.put(id, size);
+        }
+        size++;
+
+        if (index == null && size > INDEX_THRESHOLD) {
+            index = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                index.put(ids[i], i);
+            }
+        }
+    }
+
+    /**
+     * Forgets the objects of all dependencies, e.g. when the owner is destroyed.
+     */
+    void releaseObjects() {
+        for (int i = 0; i < size; i++) {
+            states[i].setObject(null);
+        }
+    }
+
+    /**
+     * Removes the dependency, the last entry takes its position.
+     *
+     * @param id the ID of the dependency
+     * @return true if the dependency has been removed
+     */
+    boolean remove(final Object id) {
+        final var position = positionOf(id);
+        if (position < 0) {
+            return false;
+        }
+
+        final var last = --size;
+        if (index != null) {
+            index.remove(id);
+        }
+        if (position != last) {
+            ids[position] = ids[last];
+            states[position] = states[last];
+            if (index != null) {
+                index.put(ids[position], position);
+            }
+        }
+        ids[last] = null;
+        states[last] = null;
+        return true;
+    }
+
+    private int positionOf(final Object id) {
+        if (index != null) {
+            final var position = index.get(id);
+            return position != null ? position : -1;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final var current = ids[i];
+            if (current == id || current.equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
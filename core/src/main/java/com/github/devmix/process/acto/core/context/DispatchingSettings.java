@@ -0,0 +1,58 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.core.events.LifecycleEventSink;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategy;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.MailboxCapacity;
+import com.github.devmix.process.acto.core.mailbox.MailboxFactory;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.metrics.ActiveObjectMetrics;
+import com.github.devmix.process.acto.core.registry.RegistryEpoch;
+import com.github.devmix.process.acto.core.scheduler.HeartbeatScheduler;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of the message dispatching applied to a context when it is created.
+ *
+ * @param mailboxFactory     the factory of the mailbox
+ * @param mailboxCapacity    the capacity of the mailbox, or null if unbounded
+ * @param coalescing         true if fire-and-forget messages with a key replace a waiting message with the same key
+ * @param idleStrategy       the strategy of the dispatching task when the mailbox is empty
+ * @param throughputQuota    the limits of one activation of the dispatching task
+ * @param eventSink          the receiver of lifecycle events
+ * @param heartbeatScheduler the scheduler of idle heartbeats, or null if heartbeats are sent only manually
+ * @param metrics            the metrics of the object
+ * @param registryEpoch      the epoch of the registry, or null if recipients of redirected messages are not cached
+ * @param dependencyTimeout  the time to wait for dependencies to start or stop in milliseconds
+ * @author Sergey Grachev
+ */
+public record DispatchingSettings(MailboxFactory mailboxFactory, @Nullable MailboxCapacity mailboxCapacity,
+                                  boolean coalescing, IdleStrategy idleStrategy, ThroughputQuota throughputQuota,
+                                  LifecycleEventSink eventSink, @Nullable HeartbeatScheduler heartbeatScheduler,
+                                  ActiveObjectMetrics metrics, @Nullable RegistryEpoch registryEpoch,
+                                  long dependencyTimeout) {
+
+    public static final DispatchingSettings DEFAULT = new DispatchingSettings(MailboxType.MPSC, null,
+            false, IdleStrategyType.RESCHEDULE, ThroughputQuota.DEFAULT, LifecycleEventSink.NONE, null, ActiveObjectMetrics.NONE,
+            null, TimeUnit.SECONDS.toMillis(15));
+}
@@ -0,0 +1,134 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.messages.CoalescingMessage;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coalescing of fire-and-forget messages with a key: {@link InternalSetAttribute} by its setter and
+ * {@link CoalescingMessage} by its key.
+ *
+ * <p>The first message of a key is added to the mailbox inside a slot. Until the consumer takes the slot, next
+ * messages of the key replace the message of the slot instead of being added to the mailbox, so the mailbox holds at
+ * most one waiting message per key and the latest message is processed at the position of the first one. A slot
+ * taken by the consumer is closed, the next message of its key adds a new one.</p>
+ *
+ * @author Sergey Grachev
+ */
+final class MailboxCoalescing {
+
+    private static final Object TAKEN = new Object();
+
+    private final Map<Object, Slot> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the entry of a waiting slot of the key of a new queue element.
+     *
+     * @param entry the new queue element
+     * @return the element to add to the mailbox and then to {@link #register(Object)}, or null if the entry has
+     * replaced a waiting one
+     */
+    @Nullable
+    Object coalesce(final Object entry) {
+        final var key = keyOf(entry);
+        if (key == null) {
+            return entry;
+        }
+
+        final var slot = waiting.get(key);
+        if (slot != null && slot.replace(entry)) {
+            return null;
+        }
+        return new Slot(key, entry);
+    }
+
+    /**
+     * Opens the slot of an element added to the mailbox for next messages of its key.
+     *
+     * @param element the element returned by {@link #coalesce(Object)}
+     */
+    void register(final Object element) {
+        if (element instanceof Slot slot) {
+            waiting.put(slot.key, slot);
+            if (slot.entry.get() == TAKEN) {
+                // the consumer has taken the slot already
+                waiting.remove(slot.key, slot);
+            }
+        }
+    }
+
+    /**
+     * Returns the entry of a queue element polled by the consumer, the slot is closed.
+     *
+     * @param element the polled queue element
+     * @return the entry to process
+     */
+    Object take(final Object element) {
+        if (!(element instanceof Slot slot)) {
+            return element;
+        }
+
+        final var entry = slot.entry.getAndSet(TAKEN);
+        waiting.remove(slot.key, slot);
+        return entry;
+    }
+
+    @Nullable
+    private static Object keyOf(final Object entry) {
+        if (QueueEntry.futureOf(entry) != null) {
+            // a response is expected by every caller
+            return null;
+        }
+
+        final var message = QueueEntry.messageOf(entry);
+        if (message instanceof InternalSetAttribute setAttribute) {
+            return setAttribute.getAction();
+        } else if (message instanceof CoalescingMessage coalescing) {
+            return coalescing.getCoalescingKey();
+        }
+        return null;
+    }
+
+    private static final class Slot {
+
+        private final Object key;
+        private final AtomicReference<Object> entry;
+
+        private Slot(final Object key, final Object entry) {
+            this.key = key;
+            this.entry = new AtomicReference<>(entry);
+        }
+
+        private boolean replace(final Object newEntry) {
+            var current = entry.get();
+            while (current != TAKEN) {
+                if (entry.compareAndSet(current, newEntry)) {
+                    return true;
+                }
+                current = entry.get();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.MailboxOverflowPolicy;
+import com.github.devmix.process.acto.core.mailbox.MailboxCapacity;
+import com.github.devmix.process.acto.exceptions.MailboxOverflowException;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Admission control of user messages for a bounded mailbox.
+ *
+ * <p>Every waiting user message holds one permit, which is returned when the consumer polls the message. With the
+ * {@link MailboxOverflowPolicy#DROP_OLDEST} and {@link MailboxOverflowPolicy#COALESCE} policies a message is added to
+ * the mailbox inside a slot, so producers can take it out without polling the mailbox: a full mailbox evicts the
+ * oldest waiting message at once and passes its permit to the new one, a request may take the place of an equal
+ * waiting message sent without waiting for the result. The consumer discards emptied slots.</p>
+ *
+ * @author Sergey Grachev
+ */
+final class MailboxLimit {
+
+    private static final Object TAKEN = new Object();
+
+    private final Object objectId;
+    private final @Getter MailboxCapacity capacity;
+    private final Semaphore permits;
+    private final @Nullable Queue<Slot> admitted;
+    private final @Nullable Map<Object, Slot> waiting;
+
+    MailboxLimit(final Object objectId, final MailboxCapacity capacity) {
+        this.objectId = objectId;
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity.capacity());
+        this.admitted = capacity.policy() == MailboxOverflowPolicy.DROP_OLDEST ? new ConcurrentLinkedQueue<>() : null;
+        this.waiting = capacity.policy() == MailboxOverflowPolicy.COALESCE ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Decides whether a new user message may be added to the mailbox.
+     *
+     * @param entry the new queue element
+     * @return the element to add to the mailbox, or null if the entry has been rejected or merged
+     * @throws MailboxOverflowException if a fire-and-forget message is rejected
+     */
+    @Nullable
+    Object admit(final Object entry) {
+        if (permits.tryAcquire()) {
+            return track(entry);
+        }
+
+        switch (capacity.policy()) {
+            case BLOCK:
+                // a dispatching thread must not wait, it may be the only one which can drain the mailbox
+                if (!DefaultActiveObjectContext.isDispatchingThread()) {
+                    try {
+                        if (permits.tryAcquire(capacity.blockTimeout(), TimeUnit.MILLISECONDS)) {
+                            return track(entry);
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                reject(entry);
+                return null;
+
+            case DROP_NEWEST:
+                QueueEntry.completeExceptionally(entry, overflow());
+                return null;
+
+            case DROP_OLDEST:
+                return evictOldest(entry);
+
+            case COALESCE:
+                if (coalesce(entry)) {
+                    return null;
+                }
+                if (permits.tryAcquire()) {
+                    // the waiting message has just been taken by the consumer
+                    return track(entry);
+                }
+                reject(entry);
+                return null;
+
+            default:
+                reject(entry);
+                return null;
+        }
+    }
+
+    /**
+     * Returns the permit of a queue element polled by the consumer.
+     *
+     * @param element the polled queue element
+     * @return the entry to process, or null if the entry has been evicted
+     */
+    @Nullable
+    Object release(final Object element) {
+        if (element instanceof Slot slot) {
+            final var entry = slot.take();
+            if (slot.key != null) {
+                waiting.remove(slot.key, slot);
+            }
+            if (admitted != null) {
+                pruneAdmitted();
+            }
+            if (entry == null) {
+                // the permit of an evicted entry has passed to a newer one
+                return null;
+            }
+            permits.release();
+            return entry;
+        }
+
+        if (!MessageKind.of(QueueEntry.messageOf(element)).system) {
+            permits.release();
+        }
+        return element;
+    }
+
+    private boolean coalesce(final Object entry) {
+        final var slot = waiting.get(QueueEntry.messageOf(entry));
+        if (slot == null) {
+            return false;
+        }
+
+        final var future = QueueEntry.futureOf(entry);
+        while (true) {
+            final var predecessor = slot.entry.get();
+            if (predecessor == TAKEN) {
+                return false;
+            }
+            if (future == null) {
+                return true;
+            }
+
+            final var predecessorFuture = QueueEntry.futureOf(predecessor);
+            if (predecessorFuture != null) {
+                predecessorFuture.whenComplete((result, e) -> {
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        QueueEntry.complete(entry, result);
+                    }
+                });
+                return true;
+            }
+
+            // nobody waits for the result of the equal message, the request takes its place
+            if (slot.entry.compareAndSet(predecessor, entry)) {
+                return true;
+            }
+        }
+    }
+
+    @Nullable
+    private Object evictOldest(final Object entry) {
+        Slot oldest;
+        while ((oldest = admitted.poll()) != null) {
+            final var evicted = oldest.take();
+            if (evicted != null) {
+                QueueEntry.completeExceptionally(evicted, overflow());
+                final var slot = new Slot(null, entry);
+                admitted.offer(slot);
+                return slot;
+            }
+            if (permits.tryAcquire()) {
+                // the consumer has taken the oldest entry and returned its permit
+                return track(entry);
+            }
+        }
+
+        // every permit is held by an entry which is being added by another producer
+        QueueEntry.completeExceptionally(entry, overflow());
+        return null;
+    }
+
+    private MailboxOverflowException overflow() {
+        return new MailboxOverflowException("Mailbox of object [" + objectId + "] is full, capacity = " + capacity.capacity());
+    }
+
+    private void pruneAdmitted() {
+        Slot head;
+        while ((head = admitted.peek()) != null && head.entry.get() == TAKEN) {
+            admitted.remove(head);
+        }
+    }
+
+    private void reject(final Object entry) {
+        final var e = overflow();
+        if (QueueEntry.futureOf(entry) == null) {
+            throw e;
+        }
+        QueueEntry.completeExceptionally(entry, e);
+    }
+
+    private Object track(final Object entry) {
+        if (admitted != null) {
+            final var slot = new Slot(null, entry);
+            admitted.offer(slot);
+            return slot;
+        } else if (waiting != null) {
+            final var key = QueueEntry.messageOf(entry);
+            final var slot = new Slot(key, entry);
+            waiting.put(key, slot);
+            return slot;
+        }
+        return entry;
+    }
+
+    private static final class Slot {
+
+        private final @Nullable Object key;
+        private final AtomicReference<Object> entry;
+
+        private Slot(@Nullable final Object key, final Object entry) {
+            this.key = key;
+            this.entry = new AtomicReference<>(entry);
+        }
+
+        @Nullable
+        private Object take() {
+            final var current = entry.getAndSet(TAKEN);
+            return current != TAKEN ? current : null;
+        }
+    }
+}
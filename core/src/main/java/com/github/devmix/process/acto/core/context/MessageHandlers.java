@@ -0,0 +1,194 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.exceptions.DispatchingException;
+import com.github.devmix.process.acto.listeners.OnMessage;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handlers of messages declared by {@link OnMessage} methods of a class of active objects. The methods are found once
+ * per class and bound to method handles of the same type, so the context calls a handler without reflection. The
+ * handler of a message class is resolved by its hierarchy on the first message and then found by the exact class.
+ *
+ * <p>Handlers are cached by the class of active objects weakly, objects keep their handlers alive. So neither the
+ * class of objects nor the message classes resolved by its handlers are kept from unloading by the cache once the
+ * last object of the class is gone.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class MessageHandlers {
+
+    static final MessageHandlers NONE = new MessageHandlers(Map.of());
+
+    private static final MethodType HANDLER_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object.class, ActiveObjectContext.class);
+    private static final MethodHandle NO_HANDLER = MethodHandles.empty(HANDLER_TYPE);
+    private static final MethodHandle NULL_RESULT = MethodHandles.constant(Object.class, null);
+
+    private static final ClassValue<WeakReference<MessageHandlers>> HANDLERS = new ClassValue<>() {
+        @Override
+        protected WeakReference<MessageHandlers> computeValue(final Class<?> type) {
+            final var declared = declaredHandlers(type);
+            return new WeakReference<>(declared.isEmpty() ? NONE : new MessageHandlers(declared));
+        }
+    };
+
+    private final Map<Class<?>, MethodHandle> declared;
+    private final Map<Class<?>, MethodHandle> resolved;
+
+    private MessageHandlers(final Map<Class<?>, MethodHandle> declared) {
+        this.declared = declared;
+        this.resolved = declared.isEmpty() ? Map.of() : new ConcurrentHashMap<>(declared);
+    }
+
+    /**
+     * Returns handlers of the class of active objects, declarations are checked on the first call.
+     *
+     * @param objectClass the class of active objects
+     * @return the handlers, empty if the class has no {@link OnMessage} methods
+     * @throws DispatchingException if a handler is declared incorrectly
+     */
+    public static MessageHandlers of(final Class<?> objectClass) {
+        while (true) {
+            final var handlers = HANDLERS.get(objectClass).get();
+            if (handlers != null) {
+                return handlers;
+            }
+            // the handlers have been collected after the last object of the class
+            HANDLERS.remove(objectClass);
+        }
+    }
+
+    public boolean isEmpty() {
+        return declared.isEmpty();
+    }
+
+    /**
+     * Finds the handler of the message class.
+     *
+     * @param messageClass the class of the message
+     * @return the handler of type {@code (Object instance, Object message, ActiveObjectContext context) -> Object}, or
+     * null if the message is not handled by any method
+     */
+    @Nullable
+    MethodHandle find(final Class<?> messageClass) {
+        if (declared.isEmpty()) {
+            return null;
+        }
+
+        var handler = resolved.get(messageClass);
+        if (handler == null) {
+            handler = resolve(messageClass);
+            resolved.put(messageClass, handler);
+        }
+        return handler != NO_HANDLER ? handler : null;
+    }
+
+    private static MethodHandle bind(final Method method) {
+        final var parameters = method.getParameterTypes();
+        if (parameters.length == 0 || parameters.length > 2 || parameters[0].isPrimitive()
+                || (parameters.length == 2 && !parameters[1].isAssignableFrom(ActiveObjectContext.class))) {
+            throw new DispatchingException("Handler must take a message and optionally the context: " + method);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            throw new DispatchingException("Handler must not be static: " + method);
+        }
+
+        // a private lookup respects modules, the package of the handler must be open to this module
+        final MethodHandle handle;
+        try {
+            final var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(method);
+        } catch (final RuntimeException | IllegalAccessException e) {
+            throw new DispatchingException("Handler is not accessible: " + method, e);
+        }
+
+        var result = handle;
+        if (parameters.length == 1) {
+            result = MethodHandles.dropArguments(result, 2, ActiveObjectContext.class);
+        }
+        if (method.getReturnType() == void.class) {
+            result = MethodHandles.filterReturnValue(result, NULL_RESULT);
+        }
+        return result.asType(HANDLER_TYPE);
+    }
+
+    private static Map<Class<?>, MethodHandle> declaredHandlers(final Class<?> type) {
+        final var result = new HashMap<Class<?>, MethodHandle>();
+        for (var current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            final var own = new HashSet<Class<?>>();
+            for (final var method : current.getDeclaredMethods()) {
+                if (method.isSynthetic() || !method.isAnnotationPresent(OnMessage.class)) {
+                    continue;
+                }
+
+                final var handler = bind(method);
+                final var messageClass = method.getParameterTypes()[0];
+                if (!own.add(messageClass)) {
+                    throw new DispatchingException("Duplicate handler of " + messageClass.getName() + " in "
+                            + current.getName());
+                }
+                // handlers of subclasses override handlers of superclasses
+                result.putIfAbsent(messageClass, handler);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the handler of the closest superclass and then of the closest interface of the message class.
+     */
+    private MethodHandle resolve(final Class<?> messageClass) {
+        for (var current = messageClass; current != null; current = current.getSuperclass()) {
+            final var handler = declared.get(current);
+            if (handler != null) {
+                return handler;
+            }
+        }
+
+        final var interfaces = new ArrayDeque<Class<?>>();
+        for (var current = messageClass; current != null; current = current.getSuperclass()) {
+            Collections.addAll(interfaces, current.getInterfaces());
+        }
+        while (!interfaces.isEmpty()) {
+            final var type = interfaces.poll();
+            final var handler = declared.get(type);
+            if (handler != null) {
+                return handler;
+            }
+            Collections.addAll(interfaces, type.getInterfaces());
+        }
+        return NO_HANDLER;
+    }
+}
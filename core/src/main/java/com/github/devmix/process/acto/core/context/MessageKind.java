@@ -0,0 +1,105 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.messages.AttributeGetter;
+import com.github.devmix.process.acto.messages.Idle;
+import com.github.devmix.process.acto.messages.Invoke;
+import com.github.devmix.process.acto.messages.InvokeAndGet;
+import com.github.devmix.process.acto.messages.ProxyMessage;
+import com.github.devmix.process.acto.messages.Start;
+import com.github.devmix.process.acto.messages.Stop;
+
+/**
+ * Kinds of messages by which the context routes them. The kind of a class is resolved once and kept in a
+ * {@link ClassValue}, so routing of a message costs one lookup instead of a chain of type checks.
+ *
+ * @author Sergey Grachev
+ */
+enum MessageKind {
+
+    HEARTBEAT(true),
+    START(true),
+    ACTIVATE(true),
+    DEACTIVATE(true),
+    STOP(true),
+    DESTROY(true),
+    UPSTREAM_DEPENDENCY_STOPPED(true),
+    BARRIER(true),
+    TRANSITION(true),
+    ATTRIBUTE_GETTER(false),
+    INVOKE_AND_GET(false),
+    INVOKE(false),
+    PROXY_CALL(false),
+    SET_ATTRIBUTE(false),
+    USER(false);
+
+    private static final ClassValue<MessageKind> KINDS = new ClassValue<>() {
+        @Override
+        protected MessageKind computeValue(final Class<?> type) {
+            return kindOf(type);
+        }
+    };
+
+    /**
+     * System messages are handled by the context itself and are not limited by the capacity of the mailbox.
+     */
+    final boolean system;
+
+    MessageKind(final boolean system) {
+        this.system = system;
+    }
+
+    static MessageKind of(final Object message) {
+        return KINDS.get(message.getClass());
+    }
+
+    private static MessageKind kindOf(final Class<?> type) {
+        if (type == InternalHeartbeat.class) {
+            return HEARTBEAT;
+        } else if (type == Start.class) {
+            return START;
+        } else if (type == Idle.Activate.class) {
+            return ACTIVATE;
+        } else if (type == Idle.Deactivate.class) {
+            return DEACTIVATE;
+        } else if (type == Stop.class) {
+            return STOP;
+        } else if (type == InternalDestroy.class) {
+            return DESTROY;
+        } else if (type == InternalUpstreamDependencyStopped.class) {
+            return UPSTREAM_DEPENDENCY_STOPPED;
+        } else if (type == InternalBarrier.class) {
+            return BARRIER;
+        } else if (type == PendingTransition.class) {
+            return TRANSITION;
+        } else if (type == InternalSetAttribute.class) {
+            return SET_ATTRIBUTE;
+        } else if (ProxyMessage.class.isAssignableFrom(type)) {
+            return PROXY_CALL;
+        } else if (AttributeGetter.class.isAssignableFrom(type)) {
+            return ATTRIBUTE_GETTER;
+        } else if (InvokeAndGet.class.isAssignableFrom(type)) {
+            return INVOKE_AND_GET;
+        } else if (Invoke.class.isAssignableFrom(type)) {
+            return INVOKE;
+        }
+        return USER;
+    }
+}
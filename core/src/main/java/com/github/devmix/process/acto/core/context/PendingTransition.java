@@ -0,0 +1,83 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Lifecycle transition of an object which waits for other objects, e.g. for dependencies to start. The object does
+ * not hold its thread while waiting: the transition is sent to its own mailbox once the awaited future completes, and
+ * the rest of the transition runs as a regular message.
+ *
+ * @author Sergey Grachev
+ */
+final class PendingTransition {
+
+    private final CompletableFuture<?> awaited;
+    private final Callable<Object> continuation;
+    private @Nullable Object entry;
+
+    PendingTransition(final CompletableFuture<?> awaited, final Callable<Object> continuation) {
+        this.awaited = awaited;
+        this.continuation = continuation;
+    }
+
+    /**
+     * Runs the next step after the result of the previous step, immediately or when the transition is resumed.
+     *
+     * @param result the result of the previous step, may be a pending transition
+     * @param next   the next step
+     * @return the result of the next step, or a pending transition
+     */
+    static Object andThen(@Nullable final Object result, final Callable<Object> next) throws Exception {
+        if (result instanceof PendingTransition transition) {
+            return new PendingTransition(transition.awaited, () -> andThen(transition.continuation.call(), next));
+        }
+        return next.call();
+    }
+
+    CompletableFuture<?> awaited() {
+        return awaited;
+    }
+
+    /**
+     * Returns the mailbox entry which has started the transition and receives its result.
+     *
+     * @return the entry, or null if the transition has not been started yet
+     */
+    @Nullable
+    Object entry() {
+        return entry;
+    }
+
+    /**
+     * Runs the rest of the transition, must be called on the dispatching thread of the object.
+     *
+     * @return the result of the transition, or another pending transition
+     */
+    Object resume() throws Exception {
+        return continuation.call();
+    }
+
+    void setEntry(final Object entry) {
+        this.entry = entry;
+    }
+}
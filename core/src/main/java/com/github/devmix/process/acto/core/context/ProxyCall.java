@@ -0,0 +1,53 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.exceptions.DispatchingException;
+import com.github.devmix.process.acto.messages.ProxyMessage;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Call of a method of a proxy interface, executed by the dispatching task of the object. Arguments are kept in the
+ * array passed to the proxy and are spread by the method handle, so the call allocates nothing else.
+ *
+ * @author Sergey Grachev
+ */
+final class ProxyCall implements ProxyMessage<Object> {
+
+    private final MethodHandle invoker;
+    private final @Nullable Object[] arguments;
+
+    ProxyCall(final MethodHandle invoker, @Nullable final Object[] arguments) {
+        this.invoker = invoker;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public Object run(final Object instance) throws Exception {
+        try {
+            return (Object) invoker.invokeExact(instance, arguments);
+        } catch (final Exception | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new DispatchingException(e.getMessage(), e);
+        }
+    }
+}
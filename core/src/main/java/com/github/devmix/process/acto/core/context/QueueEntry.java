@@ -23,6 +23,9 @@ import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents an entry in a message queue that includes a message and a CompletableFuture to handle the response.
+ * <p>
+ * Messages which do not expect a response are added to the queue as is, without an entry, so the fire-and-forget
+ * path does not allocate. The static methods of this class accept both kinds of queue elements.
  *
  * @param <T> The type of the result expected for the future.
  * @author Sergey Grachev
@@ -36,8 +39,22 @@ record QueueEntry<T>(
          * The CompletableFuture that will be completed with the result of processing the message.
          * This can be null if no response is expected.
          */
-        CompletableFuture<T> future
+        CompletableFuture<T> future,
+        /**
+         * The value of {@link System#nanoTime()} when the entry was created, or 0 if the time is not measured.
+         */
+        long enqueuedAt
 ) {
+    /**
+     * Creates a new QueueEntry whose time in the queue is not measured.
+     *
+     * @param message The message to be processed.
+     * @param future  The future to be completed with the result, can be null if no response is expected.
+     */
+    QueueEntry(final Object message, final CompletableFuture<T> future) {
+        this(message, future, 0);
+    }
+
     /**
      * Creates a new QueueEntry with a given message and no expected response.
      *
@@ -48,6 +65,71 @@ record QueueEntry<T>(
         return new QueueEntry<>(message, null);
     }
 
+    /**
+     * Creates a new QueueEntry with a given message and no expected response, which remembers the time of creation.
+     *
+     * @param message The message to be processed.
+     * @return A new instance of QueueEntry with the provided message, a null future and the current time.
+     */
+    static QueueEntry<?> timed(final Object message) {
+        return new QueueEntry<>(message, null, System.nanoTime());
+    }
+
+    /**
+     * Returns the message of a queue element.
+     *
+     * @param element the queue element, either an entry or a message without response
+     * @return the message
+     */
+    static Object messageOf(final Object element) {
+        return element instanceof QueueEntry<?> entry ? entry.message() : element;
+    }
+
+    /**
+     * Returns the future of a queue element.
+     *
+     * @param element the queue element, either an entry or a message without response
+     * @return the future, or null if no response is expected
+     */
+    @Nullable
+    static CompletableFuture<?> futureOf(final Object element) {
+        return element instanceof QueueEntry<?> entry ? entry.future() : null;
+    }
+
+    /**
+     * Returns the time spent by a queue element in the queue.
+     *
+     * @param element the queue element, either an entry or a message without response
+     * @return the time in nanoseconds, or 0 if the time is not measured
+     */
+    static long waitTimeOf(final Object element) {
+        return element instanceof QueueEntry<?> entry && entry.enqueuedAt != 0 ? System.nanoTime() - entry.enqueuedAt : 0;
+    }
+
+    /**
+     * Completes the future of a queue element successfully, if any.
+     *
+     * @param element the queue element, either an entry or a message without response
+     * @param result  the result
+     */
+    static void complete(final Object element, @Nullable final Object result) {
+        if (element instanceof QueueEntry<?> entry) {
+            entry.success(result);
+        }
+    }
+
+    /**
+     * Completes the future of a queue element exceptionally, if any.
+     *
+     * @param element   the queue element, either an entry or a message without response
+     * @param exception the exception
+     */
+    static void completeExceptionally(final Object element, final Exception exception) {
+        if (element instanceof QueueEntry<?> entry) {
+            entry.fail(exception);
+        }
+    }
+
     /**
      * Completes the future associated with this QueueEntry successfully with the given result.
      * If the future is null or an exception occurs during completion, nothing happens.
@@ -0,0 +1,99 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+import com.github.devmix.process.acto.ActiveObject;
+
+import javax.annotation.Nullable;
+
+/**
+ * Small LRU of the recipients of redirected messages, owned by one context and used only by its dispatching thread.
+ * The entries are dropped when the {@link com.github.devmix.process.acto.core.registry.RegistryEpoch epoch} of the
+ * registry changes.
+ *
+ * @author Sergey Grachev
+ */
+final class RecipientCache {
+
+    static final int CAPACITY = 16;
+
+    private final Object[] ids = new Object[CAPACITY];
+    private final ActiveObject<?>[] recipients = new ActiveObject<?>[CAPACITY];
+    private int size;
+    private long epoch;
+
+    /**
+     * Returns the cached recipient and moves it to the head.
+     *
+     * @param id    the ID of the recipient
+     * @param epoch the current epoch of the registry, read before the lookup
+     * @return the recipient, or null if it is not cached
+     */
+    @Nullable
+    ActiveObject<?> get(final Object id, final long epoch) {
+        if (this.epoch != epoch) {
+            clear();
+            this.epoch = epoch;
+            return null;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final var cachedId = ids[i];
+            if (cachedId == id || cachedId.equals(id)) {
+                final var recipient = recipients[i];
+                if (i > 0) {
+                    System.arraycopy(ids, 0, ids, 1, i);
+                    System.arraycopy(recipients, 0, recipients, 1, i);
+                    ids[0] = cachedId;
+                    recipients[0] = recipient;
+                }
+                return recipient;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the recipient to the head, the least recently used one is evicted if the cache is full.
+     *
+     * @param id        the ID of the recipient
+     * @param recipient the recipient
+     * @param epoch     the epoch of the registry read before the lookup of the recipient
+     */
+    void put(final Object id, final ActiveObject<?> recipient, final long epoch) {
+        if (this.epoch != epoch) {
+            return;
+        }
+
+        final var moved = Math.min(size, CAPACITY - 1);
+        System.arraycopy(ids, 0, ids, 1, moved);
+        System.arraycopy(recipients, 0, recipients, 1, moved);
+        ids[0] = id;
+        recipients[0] = recipient;
+        size = moved + 1;
+    }
+
+    private void clear() {
+        for (int i = 0; i < size; i++) {
+            ids[i] = null;
+            recipients[i] = null;
+        }
+        size = 0;
+    }
+}
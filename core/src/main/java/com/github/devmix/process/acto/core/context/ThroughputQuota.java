@@ -0,0 +1,43 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.context;
+
+/**
+ * Limits the work done by one activation of the dispatching task of an object. When any of the limits is reached
+ * the task is finished and a new one is scheduled for the rest of the mailbox, so other objects sharing the executor
+ * are not starved by a busy one.
+ *
+ * @param messages the maximum number of messages processed per activation, 0 or less for unlimited
+ * @param time     the maximum time of an activation in microseconds, 0 or less for unlimited
+ * @author Sergey Grachev
+ */
+public record ThroughputQuota(int messages, long time) {
+
+    public static final ThroughputQuota UNLIMITED = new ThroughputQuota(0, 0);
+    public static final ThroughputQuota DEFAULT = new ThroughputQuota(64, 0);
+
+    /**
+     * Returns the maximum number of messages processed per activation.
+     *
+     * @return the number of messages, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int maxMessages() {
+        return messages > 0 ? messages : Integer.MAX_VALUE;
+    }
+}
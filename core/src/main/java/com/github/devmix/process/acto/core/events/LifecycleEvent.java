@@ -0,0 +1,86 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.events;
+
+import com.github.devmix.process.acto.ActiveObjectStatus;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lifecycle transition of an active object. Only raw values are captured when the event is created, the text
+ * representation is built by {@link #format()} when a consumer reads the event.
+ *
+ * @param timestamp the value of {@link System#nanoTime()} when the event was created
+ * @param objectId  the ID of the object
+ * @param type      the type of the transition
+ * @param phase     the phase of the transition
+ * @param status    the status of the object at the moment of the event
+ * @param detail    the details of the transition: IDs of the start/stop chain for {@link LifecycleEventType#START} and
+ *                  {@link LifecycleEventType#STOP}, the force flag for {@link LifecycleEventType#DEACTIVATE},
+ *                  the ID of the dependency for {@link LifecycleEventType#UPSTREAM_DEPENDENCY_STOPPED}
+ * @author Sergey Grachev
+ */
+public record LifecycleEvent(long timestamp, Object objectId, LifecycleEventType type, Phase phase,
+                             ActiveObjectStatus status, @Nullable Object detail) {
+
+    /**
+     * Formats the event as a single line.
+     *
+     * @return the text representation of the event
+     */
+    public String format() {
+        final var result = new StringBuilder(64)
+                .append(TimeUnit.NANOSECONDS.toMicros(timestamp)).append("us ")
+                .append(type).append(phase == Phase.BEGIN ? " ⟶ ⟶ " : " ⟵ ⟵ ")
+                .append("id:").append(objectId)
+                .append(", status:").append(status);
+
+        if (detail instanceof Object[] chain) {
+            result.append(", chain:[");
+            for (var i = 0; i < chain.length; i++) {
+                if (i > 0) {
+                    result.append(" > ");
+                }
+                result.append(chain[i]);
+            }
+            result.append(']');
+        } else if (detail != null) {
+            result.append(", detail:").append(detail);
+        }
+
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    public enum Phase {
+        /**
+         * The transition is about to start.
+         */
+        BEGIN,
+        /**
+         * The transition has finished, successfully or not.
+         */
+        END
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.events;
+
+/**
+ * Receives lifecycle events of active objects. Called by the dispatching task of the object, so implementations
+ * must be thread-safe and must not block.
+ *
+ * @author Sergey Grachev
+ * @see RingBufferLifecycleEventSink
+ * @see Slf4jLifecycleEventSink
+ */
+@FunctionalInterface
+public interface LifecycleEventSink {
+
+    /**
+     * Sink which ignores all events, objects do not even create them.
+     */
+    LifecycleEventSink NONE = new LifecycleEventSink() {
+        @Override
+        public void accept(final LifecycleEvent event) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Receives the next event.
+     *
+     * @param event the event
+     */
+    void accept(LifecycleEvent event);
+
+    /**
+     * Checks whether events must be created at all.
+     *
+     * @return false if the sink ignores events
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.events;
+
+/**
+ * Types of lifecycle transitions of an active object.
+ *
+ * @author Sergey Grachev
+ */
+public enum LifecycleEventType {
+    CREATE,
+    START,
+    ACTIVATE,
+    DEACTIVATE,
+    STOP,
+    DESTROY,
+    UPSTREAM_DEPENDENCY_STOPPED
+}
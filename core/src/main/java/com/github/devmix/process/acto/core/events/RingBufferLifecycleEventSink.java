@@ -0,0 +1,140 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.events;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the most recent lifecycle events in a fixed-size ring buffer. Producers only claim a slot and store
+ * a reference, they never block, format or perform I/O. When the buffer is full the oldest events are overwritten.
+ *
+ * <p>Events are read asynchronously, either consumed with {@link #drain(Consumer)}, e.g. by a periodic task which
+ * logs them, or inspected with {@link #snapshot()}.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class RingBufferLifecycleEventSink implements LifecycleEventSink {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final AtomicReferenceArray<LifecycleEvent> events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+
+    private long readIndex;
+    private long lostEvents;
+
+    public RingBufferLifecycleEventSink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of kept events, rounded up to the next power of two
+     */
+    public RingBufferLifecycleEventSink(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        final var size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (var i = 0; i < size; i++) {
+            sequences.set(i, -1);
+        }
+    }
+
+    @Override
+    public void accept(final LifecycleEvent event) {
+        final var index = writeIndex.getAndIncrement();
+        final var offset = (int) index & mask;
+        events.set(offset, event);
+        sequences.set(offset, index);
+    }
+
+    /**
+     * Passes all events received since the previous call to the consumer, in the order they were received.
+     * Events overwritten before they were drained are counted in {@link #getLostEvents()}.
+     *
+     * @param consumer the consumer of events
+     * @return the number of drained events
+     */
+    public synchronized int drain(final Consumer<? super LifecycleEvent> consumer) {
+        final var end = writeIndex.get();
+        if (end - readIndex > events.length()) {
+            lostEvents += end - events.length() - readIndex;
+            readIndex = end - events.length();
+        }
+
+        var drained = 0;
+        while (readIndex < end) {
+            final var event = read(readIndex);
+            if (event == null) {
+                if (sequences.get((int) readIndex & mask) < readIndex) {
+                    // the slot has been claimed but not written yet
+                    break;
+                }
+                lostEvents++;
+            } else {
+                consumer.accept(event);
+                drained++;
+            }
+            readIndex++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the most recent events without consuming them.
+     *
+     * @return the events in the order they were received
+     */
+    public List<LifecycleEvent> snapshot() {
+        final var end = writeIndex.get();
+        final var result = new ArrayList<LifecycleEvent>();
+        for (var index = Math.max(0, end - events.length()); index < end; index++) {
+            final var event = read(index);
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    public synchronized long getLostEvents() {
+        return lostEvents;
+    }
+
+    @Nullable
+    private LifecycleEvent read(final long index) {
+        final var offset = (int) index & mask;
+        if (sequences.get(offset) != index) {
+            return null;
+        }
+        final var event = events.get(offset);
+        return sequences.get(offset) == index ? event : null;
+    }
+}
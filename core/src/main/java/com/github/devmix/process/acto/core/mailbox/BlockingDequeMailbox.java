@@ -0,0 +1,66 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mailbox based on {@link LinkedBlockingDeque}, system entries are added to the head of the deque.
+ *
+ * @param <E> the type of entries in the mailbox
+ * @author Sergey Grachev
+ */
+public final class BlockingDequeMailbox<E> implements Mailbox<E> {
+
+    private final LinkedBlockingDeque<E> queue = new LinkedBlockingDeque<>();
+
+    @Override
+    public void offer(final E entry) {
+        queue.offerLast(entry);
+    }
+
+    @Override
+    public void offerFirst(final E entry) {
+        queue.offerFirst(entry);
+    }
+
+    @Nullable
+    @Override
+    public E poll() {
+        return queue.poll();
+    }
+
+    @Nullable
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
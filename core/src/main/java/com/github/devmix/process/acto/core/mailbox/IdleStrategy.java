@@ -0,0 +1,48 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines what the dispatching task of an active object does when its mailbox becomes empty.
+ *
+ * <p>Waiting for new messages keeps the task (and the executor thread which runs it) busy, but saves the cost of
+ * scheduling a new task for the next message. Finishing the task immediately releases the thread, the next producer
+ * then schedules a new task.</p>
+ *
+ * @author Sergey Grachev
+ * @see IdleStrategyType
+ */
+public interface IdleStrategy {
+
+    /**
+     * Waits for the next entry of an empty mailbox. Called only by the consumer of the mailbox.
+     *
+     * @param <E>     the type of entries in the mailbox
+     * @param mailbox the empty mailbox
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     * @return the next entry, or null if the dispatching task must be finished
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    @Nullable
+    <E> E await(Mailbox<E> mailbox, long timeout, TimeUnit unit) throws InterruptedException;
+}
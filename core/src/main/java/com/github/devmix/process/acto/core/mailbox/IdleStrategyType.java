@@ -0,0 +1,87 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in idle strategies.
+ *
+ * @author Sergey Grachev
+ */
+public enum IdleStrategyType implements IdleStrategy {
+
+    /**
+     * The dispatching task is finished as soon as the mailbox is empty and the next producer schedules a new one.
+     * Idle objects do not occupy any thread, at the cost of scheduling a task for every burst of messages.
+     */
+    RESCHEDULE {
+        @Nullable
+        @Override
+        public <E> E await(final Mailbox<E> mailbox, final long timeout, final TimeUnit unit) {
+            return null;
+        }
+    },
+
+    /**
+     * The dispatching task busy-spins for a short time, then yields the thread a few times and finally parks until
+     * a new message arrives or the timeout elapses. Gives the lowest latency for objects receiving messages
+     * at a high rate, at the cost of CPU time spent while spinning.
+     */
+    BACKOFF {
+        @Nullable
+        @Override
+        public <E> E await(final Mailbox<E> mailbox, final long timeout, final TimeUnit unit) throws InterruptedException {
+            final var deadline = System.nanoTime() + unit.toNanos(timeout);
+
+            for (var i = 0; i < SPINS; i++) {
+                Thread.onSpinWait();
+                final var entry = mailbox.poll();
+                if (entry != null) {
+                    return entry;
+                }
+            }
+
+            for (var i = 0; i < YIELDS; i++) {
+                Thread.yield();
+                final var entry = mailbox.poll();
+                if (entry != null) {
+                    return entry;
+                }
+            }
+
+            return mailbox.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    },
+
+    /**
+     * The dispatching task parks until a new message arrives or the timeout elapses.
+     */
+    PARK {
+        @Nullable
+        @Override
+        public <E> E await(final Mailbox<E> mailbox, final long timeout, final TimeUnit unit) throws InterruptedException {
+            return mailbox.poll(timeout, unit);
+        }
+    };
+
+    private static final int SPINS = 256;
+    private static final int YIELDS = 16;
+}
@@ -0,0 +1,83 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message queue of an active object.
+ *
+ * <p>Any thread may add entries, but only one thread at a time (the dispatching task of the object) polls them.
+ * Entries added with {@link #offerFirst(Object)} are system entries which must be processed before all regular
+ * entries, e.g. {@code Stop.force()} or the internal destroy message.</p>
+ *
+ * @param <E> the type of entries in the mailbox
+ * @author Sergey Grachev
+ */
+public interface Mailbox<E> {
+
+    /**
+     * Adds an entry to the tail of the mailbox.
+     *
+     * @param entry the entry to add
+     */
+    void offer(E entry);
+
+    /**
+     * Adds an entry which must be processed before all regular entries of the mailbox.
+     *
+     * @param entry the entry to add
+     */
+    void offerFirst(E entry);
+
+    /**
+     * Retrieves and removes the next entry, must be called only by the consumer.
+     *
+     * @return the next entry, or null if the mailbox is empty
+     */
+    @Nullable
+    E poll();
+
+    /**
+     * Retrieves and removes the next entry, waiting up to the specified time if the mailbox is empty.
+     * Must be called only by the consumer.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     * @return the next entry, or null if the specified waiting time elapses before an entry is available
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    @Nullable
+    E poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Checks whether the mailbox has no entries. The result is exact only for the consumer.
+     *
+     * @return true if the mailbox is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of entries in the mailbox. The result is approximate and intended for diagnostics only.
+     *
+     * @return the number of entries
+     */
+    int size();
+}
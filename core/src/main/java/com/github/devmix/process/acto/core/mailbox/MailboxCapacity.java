@@ -0,0 +1,50 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import com.github.devmix.process.acto.MailboxOverflowPolicy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maximum number of user messages waiting in a mailbox and the policy applied when it is reached.
+ *
+ * @param capacity     the maximum number of waiting user messages, 0 or less for an unbounded mailbox
+ * @param policy       the policy applied to new user messages when the mailbox is full
+ * @param blockTimeout the maximum time in milliseconds a caller waits for free space with
+ *                     {@link MailboxOverflowPolicy#BLOCK}
+ * @author Sergey Grachev
+ */
+public record MailboxCapacity(int capacity, MailboxOverflowPolicy policy, long blockTimeout) {
+
+    public static final long DEFAULT_BLOCK_TIMEOUT = TimeUnit.SECONDS.toMillis(15);
+
+    public MailboxCapacity(final int capacity, final MailboxOverflowPolicy policy) {
+        this(capacity, policy, DEFAULT_BLOCK_TIMEOUT);
+    }
+
+    /**
+     * Checks whether this capacity limits the mailbox at all.
+     *
+     * @return true if the mailbox is bounded
+     */
+    public boolean isBounded() {
+        return capacity > 0;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+/**
+ * Creates a mailbox for every new active object.
+ *
+ * @author Sergey Grachev
+ */
+public interface MailboxFactory {
+
+    /**
+     * Creates a new empty mailbox.
+     *
+     * @param <E>      the type of entries in the mailbox
+     * @param objectId the identifier of the active object which will own the mailbox
+     * @return the new mailbox
+     */
+    <E> Mailbox<E> create(Object objectId);
+}
@@ -0,0 +1,60 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+/**
+ * Built-in mailbox implementations.
+ *
+ * @author Sergey Grachev
+ */
+public enum MailboxType implements MailboxFactory {
+
+    /**
+     * Lock-free multi-producer/single-consumer mailbox, see {@link MpscMailbox}.
+     */
+    MPSC {
+        @Override
+        public <E> Mailbox<E> create(final Object objectId) {
+            return new MpscMailbox<>();
+        }
+    },
+
+    /**
+     * Mailbox based on {@link java.util.concurrent.LinkedBlockingDeque}, a single lock is shared by producers
+     * and the consumer, see {@link BlockingDequeMailbox}.
+     */
+    BLOCKING_DEQUE {
+        @Override
+        public <E> Mailbox<E> create(final Object objectId) {
+            return new BlockingDequeMailbox<>();
+        }
+    },
+
+    /**
+     * Lock-free multi-producer/single-consumer mailbox on a preallocated ring buffer of
+     * {@link RingMailbox#DEFAULT_CAPACITY} entries, adding and polling entries does not allocate while the ring is
+     * not full, see {@link RingMailbox}.
+     */
+    RING {
+        @Override
+        public <E> Mailbox<E> create(final Object objectId) {
+            return new RingMailbox<>();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Unbounded lock-free multi-producer/single-consumer queue of linked nodes (D. Vyukov's intrusive MPSC queue).
+ *
+ * <p>Producers only swap the tail with a single atomic operation and link the previous node, the consumer only
+ * moves the head, so producers never contend with the consumer.</p>
+ *
+ * @param <E> the type of elements in the queue
+ * @author Sergey Grachev
+ */
+final class MpscLinkedQueue<E> {
+
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            TAIL = MethodHandles.lookup().findVarHandle(MpscLinkedQueue.class, "tail", Node.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Consumer side, the node before the first element.
+     */
+    private Node<E> head;
+
+    /**
+     * Producer side, the last added node.
+     */
+    @SuppressWarnings("unused")
+    private volatile Node<E> tail;
+
+    MpscLinkedQueue() {
+        final var stub = new Node<E>(null);
+        this.head = stub;
+        this.tail = stub;
+    }
+
+    void offer(final E value) {
+        final var node = new Node<>(value);
+        //noinspection unchecked
+        final var previous = (Node<E>) TAIL.getAndSet(this, node);
+        previous.next = node;
+    }
+
+    @Nullable
+    E poll() {
+        final var next = head.next;
+        if (next == null) {
+            return null;
+        }
+        final var value = next.value;
+        next.value = null;
+        head = next;
+        return value;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int size() {
+        var result = 0;
+        for (var node = head.next; node != null && result < Integer.MAX_VALUE; node = node.next) {
+            result++;
+        }
+        return result;
+    }
+
+    private static final class Node<E> {
+        private volatile Node<E> next;
+        private @Nullable E value;
+
+        private Node(@Nullable final E value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free multi-producer/single-consumer mailbox.
+ *
+ * <p>System entries are kept in a separate queue which is always drained before the regular one, so they still
+ * jump ahead of all regular entries without any locking. A waiting consumer is parked and is unparked by the
+ * next producer.</p>
+ *
+ * @param <E> the type of entries in the mailbox
+ * @author Sergey Grachev
+ */
+public final class MpscMailbox<E> implements Mailbox<E> {
+
+    private final MpscLinkedQueue<E> system = new MpscLinkedQueue<>();
+    private final MpscLinkedQueue<E> regular = new MpscLinkedQueue<>();
+
+    private volatile @Nullable Thread waitingConsumer;
+
+    @Override
+    public void offer(final E entry) {
+        regular.offer(entry);
+        signal();
+    }
+
+    @Override
+    public void offerFirst(final E entry) {
+        system.offer(entry);
+        signal();
+    }
+
+    @Nullable
+    @Override
+    public E poll() {
+        final var entry = system.poll();
+        return entry != null ? entry : regular.poll();
+    }
+
+    @Nullable
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        var entry = poll();
+        if (entry != null || timeout <= 0) {
+            return entry;
+        }
+
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        waitingConsumer = Thread.currentThread();
+        try {
+            while ((entry = poll()) == null) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+        return entry;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return system.isEmpty() && regular.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return system.size() + regular.size();
+    }
+
+    private void signal() {
+        final var consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.mailbox;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-producer/single-consumer mailbox which keeps regular entries in a preallocated ring buffer, so adding
+ * and polling an entry does not allocate anything.
+ *
+ * <p>Producers claim slots of the ring with a CAS on the producer index. When the ring is full, entries are added
+ * to an overflow deque under a lock, and all producers keep using the deque until the consumer drains it, so the order
+ * of entries of every producer is kept. System entries are kept in a separate lock-free queue which is always drained
+ * before the regular entries.</p>
+ *
+ * @param <E> the type of entries in the mailbox
+ * @author Sergey Grachev
+ */
+public final class RingMailbox<E> implements Mailbox<E> {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final VarHandle PRODUCER_INDEX;
+    private static final VarHandle CONSUMER_INDEX;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            final var lookup = MethodHandles.lookup();
+            PRODUCER_INDEX = lookup.findVarHandle(RingMailbox.class, "producerIndex", long.class);
+            CONSUMER_INDEX = lookup.findVarHandle(RingMailbox.class, "consumerIndex", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] ring;
+    private final int mask;
+    private final ArrayDeque<E> overflow = new ArrayDeque<>();
+    private final MpscLinkedQueue<E> system = new MpscLinkedQueue<>();
+
+    private volatile long producerIndex;
+    private volatile long consumerIndex;
+    private volatile boolean overflowing;
+    private volatile @Nullable Thread waitingConsumer;
+
+    public RingMailbox() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the capacity of the ring, rounded up to the next power of two
+     */
+    public RingMailbox(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.ring = new Object[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        this.mask = ring.length - 1;
+    }
+
+    /**
+     * Creates a factory of ring mailboxes with the given capacity.
+     *
+     * @param capacity the capacity of the ring of every mailbox
+     * @return the factory
+     */
+    public static MailboxFactory factory(final int capacity) {
+        return new MailboxFactory() {
+            @Override
+            public <T> Mailbox<T> create(final Object objectId) {
+                return new RingMailbox<>(capacity);
+            }
+        };
+    }
+
+    @Override
+    public void offer(final E entry) {
+        if (overflowing || !offerToRing(entry)) {
+            synchronized (overflow) {
+                overflowing = true;
+                overflow.addLast(entry);
+            }
+        }
+        signal();
+    }
+
+    @Override
+    public void offerFirst(final E entry) {
+        system.offer(entry);
+        signal();
+    }
+
+    @Nullable
+    @Override
+    public E poll() {
+        final var entry = system.poll();
+        return entry != null ? entry : pollRegular();
+    }
+
+    @Nullable
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        var entry = poll();
+        if (entry != null || timeout <= 0) {
+            return entry;
+        }
+
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        waitingConsumer = Thread.currentThread();
+        try {
+            while ((entry = poll()) == null) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingConsumer = null;
+        }
+        return entry;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return system.isEmpty() && producerIndex == consumerIndex && !overflowing;
+    }
+
+    @Override
+    public int size() {
+        final int overflowSize;
+        synchronized (overflow) {
+            overflowSize = overflow.size();
+        }
+        return system.size() + (int) (producerIndex - consumerIndex) + overflowSize;
+    }
+
+    private boolean offerToRing(final E entry) {
+        long index;
+        do {
+            index = producerIndex;
+            if (index - consumerIndex >= ring.length) {
+                return false;
+            }
+        } while (!PRODUCER_INDEX.compareAndSet(this, index, index + 1));
+
+        SLOTS.setRelease(ring, (int) index & mask, entry);
+        return true;
+    }
+
+    @Nullable
+    private E pollRegular() {
+        while (true) {
+            final var entry = pollRing();
+            if (entry != null || !overflowing) {
+                return entry;
+            }
+
+            synchronized (overflow) {
+                // an entry added to the ring before the lock is older than the entries in the overflow deque
+                if (producerIndex == consumerIndex) {
+                    final var next = overflow.pollFirst();
+                    if (overflow.isEmpty()) {
+                        overflowing = false;
+                    }
+                    return next;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private E pollRing() {
+        final var index = consumerIndex;
+        if (index == producerIndex) {
+            return null;
+        }
+
+        final var offset = (int) index & mask;
+        Object entry;
+        while ((entry = SLOTS.getAcquire(ring, offset)) == null) {
+            // the producer has claimed the slot but not filled it yet
+            Thread.onSpinWait();
+        }
+
+        SLOTS.setOpaque(ring, offset, null);
+        CONSUMER_INDEX.setRelease(this, index + 1);
+        return (E) entry;
+    }
+
+    private void signal() {
+        final var consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+/**
+ * Records metrics of one active object. Called by producers of messages and by the dispatching task of the object,
+ * so implementations must be thread-safe and must not block.
+ *
+ * @author Sergey Grachev
+ * @see ActiveObjectMetricsFactory
+ */
+public interface ActiveObjectMetrics {
+
+    /**
+     * Metrics which ignore all records, objects do not even measure time.
+     */
+    ActiveObjectMetrics NONE = new ActiveObjectMetrics() {
+        @Override
+        public void recordEnqueue() {
+        }
+
+        @Override
+        public void recordDequeue(final long waitTime) {
+        }
+
+        @Override
+        public void recordService(final long serviceTime, final int messages, final boolean failed) {
+        }
+
+        @Override
+        public void recordResubmission() {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Records a message added to the mailbox.
+     */
+    void recordEnqueue();
+
+    /**
+     * Records a message taken from the mailbox.
+     *
+     * @param waitTime the time between adding and taking of the message in nanoseconds
+     */
+    void recordDequeue(long waitTime);
+
+    /**
+     * Records the processing of messages by the handler.
+     *
+     * @param serviceTime the time of the processing in nanoseconds
+     * @param messages    the number of processed messages, more than one for a batch
+     * @param failed      true if the handler has thrown an exception
+     */
+    void recordService(long serviceTime, int messages, boolean failed);
+
+    /**
+     * Records a dispatching task submitted again because messages were left in the mailbox.
+     */
+    void recordResubmission();
+
+    /**
+     * Checks whether metrics must be measured at all.
+     *
+     * @return false if the metrics ignore all records
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+/**
+ * Creates metrics of active objects, the extension point to bridge metrics to an external registry, e.g. an
+ * implementation may return metrics backed by timers and counters of Micrometer tagged with the object ID.
+ *
+ * @author Sergey Grachev
+ * @see StripedMetricsFactory
+ */
+public interface ActiveObjectMetricsFactory {
+
+    /**
+     * Factory which disables metrics of all objects.
+     */
+    ActiveObjectMetricsFactory NONE = (objectId, objectClass) -> ActiveObjectMetrics.NONE;
+
+    /**
+     * Creates metrics of a new object.
+     *
+     * @param objectId    the ID of the object
+     * @param objectClass the class of the object
+     * @return the metrics, {@link ActiveObjectMetrics#NONE} to not measure the object
+     */
+    ActiveObjectMetrics create(Object objectId, Class<?> objectClass);
+
+    /**
+     * Called when an object is destroyed, so its metrics can be released.
+     *
+     * @param objectId the ID of the object
+     */
+    default void remove(final Object objectId) {
+    }
+}
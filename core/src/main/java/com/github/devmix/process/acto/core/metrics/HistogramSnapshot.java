@@ -0,0 +1,56 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+/**
+ * State of a {@link LogHistogram} at some moment.
+ *
+ * @param count   the number of recorded values
+ * @param sum     the sum of recorded values
+ * @param max     the maximum recorded value
+ * @param buckets the counters of buckets
+ * @author Sergey Grachev
+ */
+public record HistogramSnapshot(long count, long sum, long max, long[] buckets) {
+
+    public double mean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    /**
+     * Returns the value below or equal to which the given percentage of values fall.
+     *
+     * @param percentile the percentile from 0 to 100
+     * @return the upper bound of the bucket of the percentile, 0 if the histogram is empty
+     */
+    public long valueAtPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1, (long) Math.ceil(count * Math.min(100, percentile) / 100));
+        var seen = 0L;
+        for (var i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(LogHistogram.upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram with log-linear buckets in the style of HDR histograms: every power of two is split into
+ * {@value #SUB_BUCKETS} linear buckets, so a value is known with a relative error below 25% while the whole range
+ * of nanosecond durations takes a few hundred counters.
+ *
+ * <p>Counters are striped by thread, so concurrent writers do not contend on the same cache lines. A histogram
+ * written by a single thread should have one stripe.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 44;
+    private static final int BUCKETS = MAX_EXPONENT * SUB_BUCKETS;
+    // bucket counters followed by the sum and the maximum of values
+    private static final int STRIPE_LENGTH = BUCKETS + 2;
+    private static final int SUM = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+
+    private final AtomicLongArray counters;
+    private final int stripeMask;
+
+    /**
+     * @param stripes the number of stripes, rounded up to a power of two
+     */
+    public LogHistogram(final int stripes) {
+        final var size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripeMask = size - 1;
+        this.counters = new AtomicLongArray(size * STRIPE_LENGTH);
+    }
+
+    /**
+     * Records a value, negative values are recorded as 0.
+     *
+     * @param value the value
+     */
+    public void record(final long value) {
+        final var v = Math.max(0, value);
+        final var offset = stripeMask == 0 ? 0 : (int) (Thread.currentThread().threadId() & stripeMask) * STRIPE_LENGTH;
+        counters.getAndIncrement(offset + bucketOf(v));
+        counters.getAndAdd(offset + SUM, v);
+        if (v > counters.getPlain(offset + MAX)) {
+            counters.accumulateAndGet(offset + MAX, v, Math::max);
+        }
+    }
+
+    /**
+     * Returns the current state of the histogram, concurrent records may be partially included.
+     *
+     * @return the snapshot
+     */
+    public HistogramSnapshot snapshot() {
+        final var buckets = new long[BUCKETS];
+        var count = 0L;
+        var sum = 0L;
+        var max = 0L;
+        for (var offset = 0; offset < counters.length(); offset += STRIPE_LENGTH) {
+            for (var i = 0; i < BUCKETS; i++) {
+                final var n = counters.get(offset + i);
+                buckets[i] += n;
+                count += n;
+            }
+            sum += counters.get(offset + SUM);
+            max = Math.max(max, counters.get(offset + MAX));
+        }
+        return new HistogramSnapshot(count, sum, max, buckets);
+    }
+
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final var exponent = 63 - Long.numberOfLeadingZeros(value);
+        final var sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    static long upperBoundOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final var exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final var sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
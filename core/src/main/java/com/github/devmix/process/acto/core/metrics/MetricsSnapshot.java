@@ -0,0 +1,36 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+/**
+ * State of metrics of an object or of the whole dispatcher at some moment.
+ *
+ * @param enqueued          the number of messages added to mailboxes
+ * @param processed         the number of messages processed by handlers
+ * @param failed            the number of messages whose handlers have thrown an exception
+ * @param resubmissions     the number of dispatching tasks submitted again because messages were left in mailboxes
+ * @param depth             the number of messages waiting in mailboxes
+ * @param messagesPerSecond the rate of processed messages since the previous snapshot
+ * @param waitTime          the time between adding and taking of messages in nanoseconds
+ * @param serviceTime       the time of processing by handlers in nanoseconds, one value per batch
+ * @author Sergey Grachev
+ */
+public record MetricsSnapshot(long enqueued, long processed, long failed, long resubmissions, long depth,
+                              double messagesPerSecond, HistogramSnapshot waitTime, HistogramSnapshot serviceTime) {
+}
@@ -0,0 +1,107 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics kept in memory with striped counters, cheap enough to be always enabled.
+ *
+ * @author Sergey Grachev
+ */
+public final class StripedActiveObjectMetrics implements ActiveObjectMetrics {
+
+    private final @Nullable StripedActiveObjectMetrics parent;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder resubmissions = new LongAdder();
+    private final LogHistogram waitTime;
+    private final LogHistogram serviceTime;
+
+    private long lastSnapshotTime = System.nanoTime();
+    private long lastSnapshotProcessed;
+
+    /**
+     * @param stripes the number of stripes of histograms, 1 if the metrics are written by a single thread
+     * @param parent  the metrics which receive all records too, e.g. the metrics of the whole dispatcher
+     */
+    public StripedActiveObjectMetrics(final int stripes, @Nullable final StripedActiveObjectMetrics parent) {
+        this.parent = parent;
+        this.waitTime = new LogHistogram(stripes);
+        this.serviceTime = new LogHistogram(stripes);
+    }
+
+    @Override
+    public void recordEnqueue() {
+        enqueued.increment();
+        if (parent != null) {
+            parent.recordEnqueue();
+        }
+    }
+
+    @Override
+    public void recordDequeue(final long waitTime) {
+        dequeued.increment();
+        this.waitTime.record(waitTime);
+        if (parent != null) {
+            parent.recordDequeue(waitTime);
+        }
+    }
+
+    @Override
+    public void recordService(final long serviceTime, final int messages, final boolean failed) {
+        processed.add(messages);
+        if (failed) {
+            this.failed.add(messages);
+        }
+        this.serviceTime.record(serviceTime);
+        if (parent != null) {
+            parent.recordService(serviceTime, messages, failed);
+        }
+    }
+
+    @Override
+    public void recordResubmission() {
+        resubmissions.increment();
+        if (parent != null) {
+            parent.recordResubmission();
+        }
+    }
+
+    /**
+     * Returns the current metrics, the rate of messages is calculated since the previous call.
+     *
+     * @return the snapshot
+     */
+    public synchronized MetricsSnapshot snapshot() {
+        final var now = System.nanoTime();
+        final var processedTotal = processed.sum();
+        final var enqueuedTotal = enqueued.sum();
+        final var elapsed = now - lastSnapshotTime;
+        final var rate = elapsed > 0 ? (processedTotal - lastSnapshotProcessed) * 1e9 / elapsed : 0;
+        lastSnapshotTime = now;
+        lastSnapshotProcessed = processedTotal;
+
+        return new MetricsSnapshot(enqueuedTotal, processedTotal, failed.sum(), resubmissions.sum(),
+                Math.max(0, enqueuedTotal - dequeued.sum()), rate, waitTime.snapshot(), serviceTime.snapshot());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.metrics;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Default metrics kept in memory: every object gets its own {@link StripedActiveObjectMetrics}, which also
+ * forward records to the metrics of the whole dispatcher.
+ *
+ * @author Sergey Grachev
+ */
+public final class StripedMetricsFactory implements ActiveObjectMetricsFactory {
+
+    private final Map<Object, StripedActiveObjectMetrics> objects = new ConcurrentHashMap<>();
+    private final StripedActiveObjectMetrics total = new StripedActiveObjectMetrics(
+            Runtime.getRuntime().availableProcessors(), null);
+
+    @Override
+    public ActiveObjectMetrics create(final Object objectId, final Class<?> objectClass) {
+        final var metrics = new StripedActiveObjectMetrics(1, total);
+        objects.put(objectId, metrics);
+        return metrics;
+    }
+
+    @Override
+    public void remove(final Object objectId) {
+        objects.remove(objectId);
+    }
+
+    /**
+     * Returns the metrics of all objects of the dispatcher, including destroyed ones.
+     *
+     * @return the snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        return total.snapshot();
+    }
+
+    /**
+     * Returns the metrics of an object.
+     *
+     * @param objectId the ID of the object
+     * @return the snapshot, or null if the object is unknown
+     */
+    @Nullable
+    public MetricsSnapshot snapshot(final Object objectId) {
+        final var metrics = objects.get(objectId);
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    /**
+     * Takes snapshots of all known objects, e.g. to export them periodically.
+     *
+     * @param action the receiver of the object ID and its snapshot
+     */
+    public void forEach(final BiConsumer<Object, MetricsSnapshot> action) {
+        objects.forEach((id, metrics) -> action.accept(id, metrics.snapshot()));
+    }
+}
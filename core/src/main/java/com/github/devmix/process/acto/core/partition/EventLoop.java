@@ -0,0 +1,199 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single thread with its own queue of tasks, runs the dispatching tasks of all objects of one partition.
+ *
+ * <p>Tasks must not block the thread. A task which has to wait for a result of another object, e.g. for a started
+ * dependency, waits with {@link #await(CompletableFuture, long, TimeUnit)}, which runs other tasks of the loop in the
+ * meantime, so objects of the same partition can wait for each other.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class EventLoop implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventLoop.class);
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final int partition;
+
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    EventLoop(final String name, final int partition) {
+        this.partition = partition;
+        this.thread = new LoopThread(this, name);
+        this.thread.start();
+    }
+
+    /**
+     * Returns the loop of the current thread.
+     *
+     * @return the loop, or null if the current thread is not a thread of a loop
+     */
+    @Nullable
+    public static EventLoop current() {
+        return Thread.currentThread() instanceof LoopThread t ? t.loop : null;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (!running) {
+            throw new RejectedExecutionException("Event loop has been shut down: " + thread.getName());
+        }
+        tasks.offer(task);
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Waits for a future on the thread of this loop, running other tasks of the loop until the future is done.
+     *
+     * @param future  the future
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @param <R>     the type of the result
+     * @return the result of the future
+     */
+    public <R> R await(final CompletableFuture<R> future, final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!inEventLoop()) {
+            return future.get(timeout, unit);
+        }
+
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        future.whenComplete((result, e) -> LockSupport.unpark(thread));
+        while (!future.isDone()) {
+            final var task = tasks.poll();
+            if (task != null) {
+                run(task);
+                continue;
+            }
+
+            final var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            sleeping = true;
+            if (tasks.isEmpty() && !future.isDone()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            sleeping = false;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return future.get();
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Stops accepting tasks, removes the waiting ones and interrupts the task being run.
+     *
+     * @param drained the list to which the tasks which have never been run are added
+     */
+    void shutdownNow(final List<Runnable> drained) {
+        running = false;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            drained.add(task);
+        }
+        thread.interrupt();
+        LockSupport.unpark(thread);
+    }
+
+    boolean isTerminated() {
+        return !thread.isAlive();
+    }
+
+    boolean awaitTermination(final long nanos) throws InterruptedException {
+        thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos)));
+        return isTerminated();
+    }
+
+    private void loop() {
+        while (running || !tasks.isEmpty()) {
+            final var task = tasks.poll();
+            if (task != null) {
+                run(task);
+                continue;
+            }
+
+            sleeping = true;
+            if (tasks.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+    }
+
+    private static void run(final Runnable task) {
+        try {
+            task.run();
+        } catch (final Throwable e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private static final class LoopThread extends Thread {
+
+        private final EventLoop loop;
+
+        LoopThread(final EventLoop loop, final String name) {
+            super(name);
+            this.loop = loop;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            loop.loop();
+        }
+    }
+}
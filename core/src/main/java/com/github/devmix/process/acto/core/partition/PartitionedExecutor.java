@@ -0,0 +1,155 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.partition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixed set of {@link EventLoop}s, every object is assigned to a loop by its ID, so the object always runs on the
+ * same thread and its state stays in the caches of one core.
+ *
+ * <p>Objects which talk to each other can be co-located with a partitioner which maps their IDs to the same
+ * number. Tasks which are not bound to an object run on the loop of the calling thread, or on the loops in turn.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class PartitionedExecutor extends AbstractExecutorService {
+
+    private static final AtomicInteger GROUP_COUNTER = new AtomicInteger();
+
+    private final EventLoop[] loops;
+    private final ToIntFunction<Object> partitioner;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Creates an executor which assigns objects to loops by hash codes of their IDs.
+     *
+     * @param partitions the number of loops
+     */
+    public PartitionedExecutor(final int partitions) {
+        this(partitions, PartitionedExecutor::hash);
+    }
+
+    /**
+     * @param partitions  the number of loops
+     * @param partitioner the function which maps an object ID to a number, the loop is the number modulo the number
+     *                    of loops
+     */
+    public PartitionedExecutor(final int partitions, final ToIntFunction<Object> partitioner) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Number of partitions must be positive: " + partitions);
+        }
+        this.partitioner = partitioner;
+        this.loops = new EventLoop[partitions];
+        final var group = GROUP_COUNTER.incrementAndGet();
+        for (var i = 0; i < partitions; i++) {
+            loops[i] = new EventLoop("acto-loop-" + group + "-" + i, i);
+        }
+    }
+
+    public int getPartitions() {
+        return loops.length;
+    }
+
+    /**
+     * Returns the partition of an object.
+     *
+     * @param objectId the ID of the object
+     * @return the index of the loop
+     */
+    public int partitionOf(final Object objectId) {
+        return Math.floorMod(partitioner.applyAsInt(objectId), loops.length);
+    }
+
+    /**
+     * Returns the loop which runs an object.
+     *
+     * @param objectId the ID of the object
+     * @return the loop
+     */
+    public EventLoop loopOf(final Object objectId) {
+        return loops[partitionOf(objectId)];
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        final var current = EventLoop.current();
+        if (current != null && loops[current.getPartition()] == current) {
+            current.execute(task);
+        } else {
+            loops[Math.floorMod(next.getAndIncrement(), loops.length)].execute(task);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (final var loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        final var drained = new ArrayList<Runnable>();
+        for (final var loop : loops) {
+            loop.shutdownNow(drained);
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (final var loop : loops) {
+            if (!loop.isTerminated()) {
+                return false;
+            }
+        }
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (final var loop : loops) {
+            if (!loop.awaitTermination(deadline - System.nanoTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final Object objectId) {
+        final var h = objectId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+import com.github.devmix.process.acto.exceptions.RegistryException;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Base of registries which split IDs to shards of open addressing hash tables.
+ *
+ * <p>Every shard is changed under its own lock, lookups do not lock at all: a slot is published by a release store
+ * of its value after its key, so a reader which sees a value sees its key too. A key is written only once, to a free
+ * slot before its value is published; removed slots are never reused and are dropped when the shard is cleaned or
+ * grown into a new table, which is published as a whole. Compared to a {@link java.util.concurrent.ConcurrentHashMap}
+ * there is no node per entry, which is the most of the footprint of a registry with millions of objects.</p>
+ *
+ * <p>Subclasses define only how keys are hashed and kept in a table, e.g. unboxed in a primitive array.</p>
+ *
+ * @param <V> the type of values
+ * @param <T> the type of tables
+ * @author Sergey Grachev
+ */
+abstract class AbstractShardedRegistry<V, T extends AbstractShardedRegistry.Table> implements ObjectRegistry<V> {
+
+    static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    static final Object REMOVED = new Object();
+    static final int INITIAL_CAPACITY = 16;
+
+    private final Shard<T>[] shards;
+    private final int shardShift;
+    private final IntFunction<T> tableFactory;
+
+    @SuppressWarnings("unchecked")
+    AbstractShardedRegistry(final int shards, final IntFunction<T> tableFactory) {
+        final var size = shards <= 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        this.tableFactory = tableFactory;
+        this.shards = new Shard[size];
+        for (var i = 0; i < size; i++) {
+            this.shards[i] = new Shard<>(tableFactory.apply(INITIAL_CAPACITY));
+        }
+        this.shardShift = size == 1 ? 32 : 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    static int defaultShards() {
+        return Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    static int mix(final int hash) {
+        final var h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Nullable
+    @Override
+    public final V get(final Object id) {
+        if (!isKey(id)) {
+            return null;
+        }
+        final var hash = hash(id);
+        final var table = shardOf(hash).table;
+        final var values = table.values;
+        final var mask = values.length - 1;
+        for (var index = hash & mask; ; index = (index + 1) & mask) {
+            final var value = VALUES.getAcquire(values, index);
+            if (value == null) {
+                return null;
+            } else if (value != REMOVED && table.keyEquals(index, id, hash)) {
+                //noinspection unchecked
+                return (V) value;
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public final V putIfAbsent(final Object id, final V value) {
+        Objects.requireNonNull(value);
+        final var hash = hash(checkKey(id));
+        final var shard = shardOf(hash);
+        synchronized (shard) {
+            final var current = find(shard.table, id, hash);
+            if (current >= 0) {
+                //noinspection unchecked
+                return (V) shard.table.values[current];
+            }
+
+            final var table = ensureCapacity(shard);
+            final var mask = table.values.length - 1;
+            var index = hash & mask;
+            while (table.values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            table.setKey(index, id, hash);
+            VALUES.setRelease(table.values, index, value);
+            shard.used++;
+            shard.size++;
+            return null;
+        }
+    }
+
+    @Override
+    public final boolean replace(final Object id, final V expected, final V value) {
+        Objects.requireNonNull(value);
+        final var hash = hash(checkKey(id));
+        final var shard = shardOf(hash);
+        synchronized (shard) {
+            final var table = shard.table;
+            final var index = find(table, id, hash);
+            if (index < 0 || !expected.equals(table.values[index])) {
+                return false;
+            }
+            VALUES.setRelease(table.values, index, value);
+            return true;
+        }
+    }
+
+    @Override
+    public final boolean remove(final Object id, final V expected) {
+        if (!isKey(id)) {
+            return false;
+        }
+        final var hash = hash(id);
+        final var shard = shardOf(hash);
+        synchronized (shard) {
+            final var table = shard.table;
+            final var index = find(table, id, hash);
+            if (index < 0 || !expected.equals(table.values[index])) {
+                return false;
+            }
+            VALUES.setRelease(table.values, index, REMOVED);
+            shard.size--;
+            return true;
+        }
+    }
+
+    @Override
+    public int size() {
+        var result = 0;
+        for (final var shard : shards) {
+            result += shard.size;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final Consumer<? super V> action) {
+        for (final var shard : shards) {
+            final var values = shard.table.values;
+            for (var i = 0; i < values.length; i++) {
+                final var value = VALUES.getAcquire(values, i);
+                if (value != null && value != REMOVED) {
+                    action.accept((V) value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the mixed hash of an ID accepted by {@link #isKey(Object)}.
+     */
+    abstract int hash(Object id);
+
+    /**
+     * Checks whether an ID is of the type of keys of the registry.
+     */
+    abstract boolean isKey(@Nullable Object id);
+
+    /**
+     * Returns the type of keys for error messages.
+     */
+    abstract Class<?> keyType();
+
+    private Object checkKey(@Nullable final Object id) {
+        if (!isKey(id)) {
+            throw new RegistryException("ID must be " + keyType().getSimpleName() + " but was: "
+                    + (id != null ? id.getClass() : null));
+        }
+        return id;
+    }
+
+    /**
+     * Makes room for a new key in a free slot, must be called under the lock of the shard.
+     *
+     * @return the table to add the key to
+     */
+    private T ensureCapacity(final Shard<T> shard) {
+        final var table = shard.table;
+        final var capacity = table.values.length;
+        if ((shard.used + 1) * 4 <= capacity * 3) {
+            return table;
+        }
+
+        // a table which is mostly removed slots is only cleaned
+        final var grown = tableFactory.apply((shard.size + 1) * 2 > capacity ? capacity * 2 : capacity);
+        final var mask = grown.values.length - 1;
+        for (var i = 0; i < capacity; i++) {
+            final var value = table.values[i];
+            if (value != null && value != REMOVED) {
+                var index = table.hashAt(i) & mask;
+                while (grown.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                grown.copyKey(table, i, index);
+                grown.values[index] = value;
+            }
+        }
+        shard.used = shard.size;
+        shard.table = grown;
+        return grown;
+    }
+
+    private static int find(final Table table, final Object id, final int hash) {
+        final var mask = table.values.length - 1;
+        for (var index = hash & mask; ; index = (index + 1) & mask) {
+            final var value = table.values[index];
+            if (value == null) {
+                return -1;
+            } else if (value != REMOVED && table.keyEquals(index, id, hash)) {
+                return index;
+            }
+        }
+    }
+
+    private Shard<T> shardOf(final int hash) {
+        return shardShift == 32 ? shards[0] : shards[hash >>> shardShift];
+    }
+
+    /**
+     * Lock and table of a shard.
+     */
+    static final class Shard<T extends Table> {
+
+        volatile T table;
+        // changed under the lock only
+        int size;
+        int used;
+
+        Shard(final T table) {
+            this.table = table;
+        }
+    }
+
+    /**
+     * Open addressing table, subclasses keep keys in arrays parallel to values.
+     */
+    abstract static class Table {
+
+        final Object[] values;
+
+        Table(final int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        /**
+         * Returns the mixed hash of the key at an index.
+         */
+        abstract int hashAt(int index);
+
+        /**
+         * Copies a key from another table of the same type.
+         */
+        abstract void copyKey(Table source, int sourceIndex, int index);
+
+        /**
+         * Checks whether the key at an index equals an ID of the type of keys with the given mixed hash.
+         */
+        abstract boolean keyEquals(int index, Object id, int hash);
+
+        /**
+         * Writes an ID of the type of keys with the given mixed hash to a free slot.
+         */
+        abstract void setKey(int index, Object id, int hash);
+    }
+}
@@ -22,23 +22,47 @@ import com.github.devmix.process.acto.ActiveObject;
 import com.github.devmix.process.acto.ActiveObjectFactory;
 import com.github.devmix.process.acto.ActiveObjectLifecycle;
 import com.github.devmix.process.acto.ActiveObjectsDispatcher;
+import com.github.devmix.process.acto.MailboxOverflowPolicy;
+import com.github.devmix.process.acto.core.context.ActiveObjectProxies;
 import com.github.devmix.process.acto.core.context.DefaultActiveObjectContext;
+import com.github.devmix.process.acto.core.context.DispatchingSettings;
 import com.github.devmix.process.acto.core.context.InternalDestroy;
+import com.github.devmix.process.acto.core.context.MessageHandlers;
+import com.github.devmix.process.acto.core.context.ThroughputQuota;
+import com.github.devmix.process.acto.core.events.LifecycleEventSink;
+import com.github.devmix.process.acto.core.events.RingBufferLifecycleEventSink;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategy;
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType;
+import com.github.devmix.process.acto.core.mailbox.MailboxCapacity;
+import com.github.devmix.process.acto.core.mailbox.MailboxFactory;
+import com.github.devmix.process.acto.core.mailbox.MailboxType;
+import com.github.devmix.process.acto.core.metrics.ActiveObjectMetricsFactory;
+import com.github.devmix.process.acto.core.metrics.StripedMetricsFactory;
+import com.github.devmix.process.acto.core.partition.PartitionedExecutor;
+import com.github.devmix.process.acto.core.scheduler.HeartbeatScheduler;
 import com.github.devmix.process.acto.exceptions.RegistryException;
+import com.github.devmix.process.acto.messages.Start;
+import com.github.devmix.process.acto.messages.Stop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
-import java.io.Serial;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * @author Sergey Grachev
@@ -49,23 +73,124 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
 
     private final Map<Class<?>, ActiveObjectFactory<?, ?, ?>> objectFactories = new ConcurrentHashMap<>();
     private final Map<Class<?>, ActiveObjectLifecycle<?>> objectLifecycles = new ConcurrentHashMap<>();
-    private final Map<Object, DefaultActiveObjectContext<?>> contexts = new ConcurrentHashMap<>();
-    private final ForkJoinPool executor;
+    private final Map<Class<?>, MailboxCapacity> mailboxCapacities = new ConcurrentHashMap<>();
+    private final Map<Class<?>, IdleStrategy> idleStrategies = new ConcurrentHashMap<>();
+    private final Set<Class<?>> coalescingClasses = ConcurrentHashMap.newKeySet();
+    private final ObjectRegistry<Object> contexts;
+    private final ExecutorService executor;
+    private final boolean executorOwned;
     private final AtomicBoolean started = new AtomicBoolean();
+    private final RegistryEpoch registryEpoch = new RegistryEpoch();
 
-    private HeartbeatTask heartbeatTask;
+    private volatile @Nullable HeartbeatScheduler heartbeatScheduler;
     private long heartbeatInterval;
+    private MailboxFactory mailboxFactory = MailboxType.MPSC;
+    private IdleStrategy idleStrategy = IdleStrategyType.RESCHEDULE;
+    private ThroughputQuota throughputQuota = ThroughputQuota.DEFAULT;
+    private LifecycleEventSink lifecycleEventSink = new RingBufferLifecycleEventSink();
+    private ActiveObjectMetricsFactory metricsFactory = ActiveObjectMetricsFactory.NONE;
+    private long dependencyTimeout = TimeUnit.SECONDS.toMillis(15);
+    private long shutdownTimeout = TimeUnit.SECONDS.toMillis(15);
 
     public DefaultActiveObjectsDispatcher() {
         this(TimeUnit.MINUTES.toMillis(5));
     }
 
+    /**
+     * Creates a dispatcher with a {@link ForkJoinPool} in FIFO mode, so a dispatching task re-scheduled after
+     * its throughput quota runs after the tasks which are already waiting. The pool is shut down together with
+     * the dispatcher.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     */
     public DefaultActiveObjectsDispatcher(final long heartbeatInterval) {
+        this(heartbeatInterval, new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true), ObjectRegistry.forObjects(), true);
+    }
+
+    /**
+     * Creates a dispatcher which runs the dispatching tasks of all objects on the given executor.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     * @param executor          the executor of the dispatching tasks, it must not limit the number of concurrently
+     *                          running tasks below the number of objects which are expected to block, it is not
+     *                          shut down by the dispatcher
+     */
+    public DefaultActiveObjectsDispatcher(final long heartbeatInterval, final ExecutorService executor) {
+        this(heartbeatInterval, executor, ObjectRegistry.forObjects());
+    }
+
+    /**
+     * Creates a dispatcher which keeps objects in the given registry, e.g. one specialized for the type of IDs.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     * @param executor          the executor of the dispatching tasks
+     * @param registry          the empty registry of objects
+     * @see ObjectRegistry#forLongs()
+     * @see ObjectRegistry#forInts()
+     */
+    public DefaultActiveObjectsDispatcher(final long heartbeatInterval, final ExecutorService executor,
+                                          final ObjectRegistry<Object> registry) {
+        this(heartbeatInterval, executor, registry, false);
+    }
+
+    private DefaultActiveObjectsDispatcher(final long heartbeatInterval, final ExecutorService executor,
+                                           final ObjectRegistry<Object> registry, final boolean executorOwned) {
         this.heartbeatInterval = heartbeatInterval;
-        this.executor = new ForkJoinPool();
+        this.executor = executor;
+        this.executorOwned = executorOwned;
+        this.contexts = registry;
         start();
     }
 
+    /**
+     * Creates a dispatcher which runs the dispatching task of every object on its own virtual thread, so blocking
+     * message handlers and waiting for dependencies do not occupy platform threads.
+     *
+     * @return a new dispatcher
+     */
+    public static DefaultActiveObjectsDispatcher withVirtualThreads() {
+        return withVirtualThreads(TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * Creates a dispatcher which runs the dispatching task of every object on its own virtual thread.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     * @return a new dispatcher
+     * @see #withVirtualThreads()
+     */
+    public static DefaultActiveObjectsDispatcher withVirtualThreads(final long heartbeatInterval) {
+        return new DefaultActiveObjectsDispatcher(heartbeatInterval, Executors.newVirtualThreadPerTaskExecutor(),
+                ObjectRegistry.forObjects(), true);
+    }
+
+    /**
+     * Creates a dispatcher which runs objects on one event loop per available processor.
+     *
+     * @return a new dispatcher
+     * @see #partitioned(long, PartitionedExecutor)
+     */
+    public static DefaultActiveObjectsDispatcher partitioned() {
+        return new DefaultActiveObjectsDispatcher(TimeUnit.MINUTES.toMillis(5),
+                new PartitionedExecutor(Runtime.getRuntime().availableProcessors()), ObjectRegistry.forObjects(), true);
+    }
+
+    /**
+     * Creates a dispatcher which runs every object on the event loop of its partition, so an object always runs on
+     * the same thread and objects of the same partition exchange messages without handing them over to other
+     * threads. Handlers must not block, other idle strategies than {@link IdleStrategyType#RESCHEDULE} are rejected
+     * because a waiting object would stall every object of its partition.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     * @param executor          the event loops, they are not shut down by the dispatcher
+     * @return a new dispatcher
+     */
+    public static DefaultActiveObjectsDispatcher partitioned(final long heartbeatInterval,
+                                                             final PartitionedExecutor executor) {
+        return new DefaultActiveObjectsDispatcher(heartbeatInterval, executor);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T, I, O> ActiveObject<T> create(final Class<T> objectClass, final I id, final O options) {
@@ -80,16 +205,13 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
             throw new RegistryException("No factory or lifecycle for object with class: " + objectClass);
         }
 
-        return (ActiveObject<T>) contexts.compute(id, (k, current) -> {
-            if (current != null) {
-                throw new RegistryException("Object with ID=[" + k + "] already registered");
-            }
-
-            log.debug("create new object: factory=[{}] lifecycle=[{}] id=[{}]", factory, lifecycle, k);
+        return register(id, () -> {
+            log.debug("create new object: factory=[{}] lifecycle=[{}] id=[{}]", factory, lifecycle, id);
 
             final var instance = factory != null ? factory.create(id, options) : null;
+            final var settings = dispatchingSettings(objectClass, id);
 
-            return new DefaultActiveObjectContext<T>(id, options, instance, lifecycle, this, executor);
+            return new DefaultActiveObjectContext<T>(id, options, instance, lifecycle, this, executorOf(id), settings);
         });
     }
 
@@ -100,17 +222,14 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
             throw new RegistryException("Registry has been stopped");
         }
 
-        return (ActiveObject<T>) contexts.compute(id, (k, current) -> {
-            if (current != null) {
-                throw new RegistryException("Object with ID=[" + k + "] already registered");
-            }
-
+        return register(id, () -> {
             final var instance = factory.create(id, options);
             final var lifecycle = (ActiveObjectLifecycle<T>) objectLifecycles.get(instance.getClass());
+            final var settings = dispatchingSettings(instance.getClass(), id);
 
-            log.debug("create new object: factory=[{}] lifecycle=[{}] id=[{}]", factory, lifecycle, k);
+            log.debug("create new object: factory=[{}] lifecycle=[{}] id=[{}]", factory, lifecycle, id);
 
-            return new DefaultActiveObjectContext<T>(id, options, instance, lifecycle, this, executor);
+            return new DefaultActiveObjectContext<T>(id, options, instance, lifecycle, this, executorOf(id), settings);
         });
     }
 
@@ -118,7 +237,7 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
     @Override
     public <T> ActiveObject<T> findById(final Object id) {
         //noinspection unchecked
-        return (ActiveObject<T>) contexts.get(id);
+        return contexts.get(id) instanceof DefaultActiveObjectContext<?> context ? (ActiveObject<T>) context : null;
     }
 
     @Override
@@ -135,8 +254,123 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
         return heartbeatInterval;
     }
 
+    /**
+     * Sets the resolution of heartbeats. An idle object receives its heartbeat not later than this interval after
+     * its idle timeout has expired, heartbeats which are due within the same interval are sent together.
+     *
+     * @param heartbeatInterval the resolution of heartbeats in milliseconds
+     */
     public void setHeartbeatInterval(final long heartbeatInterval) {
         this.heartbeatInterval = heartbeatInterval;
+        final var scheduler = heartbeatScheduler;
+        if (scheduler != null) {
+            scheduler.setResolution(heartbeatInterval);
+        }
+    }
+
+    public MailboxFactory getMailboxFactory() {
+        return mailboxFactory;
+    }
+
+    /**
+     * Sets the factory of mailboxes for objects created after this call.
+     *
+     * @param mailboxFactory the factory of mailboxes, e.g. one of {@link MailboxType}
+     */
+    public void setMailboxFactory(final MailboxFactory mailboxFactory) {
+        this.mailboxFactory = mailboxFactory;
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    /**
+     * Sets the default idle strategy for objects created after this call.
+     *
+     * @param idleStrategy the idle strategy, e.g. one of {@link IdleStrategyType}
+     * @throws IllegalArgumentException if the dispatcher is partitioned and the strategy is not
+     *                                  {@link IdleStrategyType#RESCHEDULE}
+     * @see #registerIdleStrategy(Class, IdleStrategy)
+     */
+    public void setIdleStrategy(final IdleStrategy idleStrategy) {
+        this.idleStrategy = checkIdleStrategy(idleStrategy);
+    }
+
+    public ThroughputQuota getThroughputQuota() {
+        return throughputQuota;
+    }
+
+    /**
+     * Sets the default throughput quota for objects created after this call.
+     *
+     * @param throughputQuota the throughput quota
+     * @see DefaultActiveObjectContext#setThroughputQuota(ThroughputQuota)
+     */
+    public void setThroughputQuota(final ThroughputQuota throughputQuota) {
+        this.throughputQuota = throughputQuota;
+    }
+
+    /**
+     * Returns the receiver of lifecycle events, by default a {@link RingBufferLifecycleEventSink} which can be
+     * drained to inspect recent transitions of objects.
+     *
+     * @return the lifecycle event sink
+     */
+    public LifecycleEventSink getLifecycleEventSink() {
+        return lifecycleEventSink;
+    }
+
+    /**
+     * Sets the receiver of lifecycle events for objects created after this call.
+     *
+     * @param lifecycleEventSink the lifecycle event sink, {@link LifecycleEventSink#NONE} to disable events
+     */
+    public void setLifecycleEventSink(final LifecycleEventSink lifecycleEventSink) {
+        this.lifecycleEventSink = lifecycleEventSink;
+    }
+
+    public ActiveObjectMetricsFactory getMetricsFactory() {
+        return metricsFactory;
+    }
+
+    /**
+     * Sets the factory of metrics for objects created after this call. Metrics are disabled by default, because
+     * measuring of the time in the mailbox requires an entry for every fire-and-forget message.
+     *
+     * @param metricsFactory the factory of metrics, e.g. {@link StripedMetricsFactory} or an adapter to an external
+     *                       metrics registry
+     */
+    public void setMetricsFactory(final ActiveObjectMetricsFactory metricsFactory) {
+        this.metricsFactory = metricsFactory;
+    }
+
+    public long getDependencyTimeout() {
+        return dependencyTimeout;
+    }
+
+    /**
+     * Sets the time to wait for dependencies to start or stop for objects created after this call. Dependencies of
+     * an object are started together, so the time is not multiplied by the number of dependencies.
+     *
+     * @param dependencyTimeout the timeout in milliseconds
+     * @see DefaultActiveObjectContext#setDependencyTimeout(long)
+     */
+    public void setDependencyTimeout(final long dependencyTimeout) {
+        this.dependencyTimeout = dependencyTimeout;
+    }
+
+    public long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * Sets the time to destroy all objects by {@link #shutdown(boolean)}, the time is shared by all objects.
+     *
+     * @param shutdownTimeout the timeout in milliseconds
+     */
+    public void setShutdownTimeout(final long shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
     }
 
     @Override
@@ -149,10 +383,17 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
         return 500;
     }
 
+    @Override
+    public <P> P proxy(final ActiveObject<? extends P> object, final Class<P> type) {
+        return ActiveObjectProxies.create(object, type);
+    }
+
     @Override
     public <T, I, O> void registerFactory(final Class<T> objectClass, final ActiveObjectFactory<T, I, O> factory) {
         log.debug("register new object factory [{}:{}]", objectClass, factory);
 
+        // declarations of message handlers are checked before any object is created
+        MessageHandlers.of(objectClass);
         objectFactories.put(objectClass, factory);
     }
 
@@ -163,22 +404,123 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
         objectLifecycles.put(objectClass, lifecycle);
     }
 
+    @Override
+    public <T> void registerMailboxCapacity(final Class<T> objectClass, final int capacity,
+                                            final MailboxOverflowPolicy policy) {
+        log.debug("register mailbox capacity [{}:{}:{}]", objectClass, capacity, policy);
+
+        mailboxCapacities.put(objectClass, new MailboxCapacity(capacity, policy));
+    }
+
+    /**
+     * Makes the mailbox of objects of the given class coalescing: a message sent without waiting for the result by
+     * {@link ActiveObject#setAndForget} or with a {@link com.github.devmix.process.acto.messages.CoalescingMessage}
+     * key replaces a waiting message with the same setter or key, so only the latest one is processed. It is applied
+     * to objects created after this call.
+     *
+     * @param objectClass the class of objects
+     * @param <T>         the type of objects
+     */
+    public <T> void registerCoalescing(final Class<T> objectClass) {
+        log.debug("register coalescing mailbox [{}]", objectClass);
+
+        coalescingClasses.add(objectClass);
+    }
+
+    /**
+     * Registers the idle strategy for objects of the given class, overrides the default one.
+     *
+     * @param objectClass  the class of objects
+     * @param idleStrategy the idle strategy
+     * @param <T>          the type of objects
+     * @throws IllegalArgumentException if the dispatcher is partitioned and the strategy is not
+     *                                  {@link IdleStrategyType#RESCHEDULE}
+     * @see DefaultActiveObjectContext#setIdleStrategy(IdleStrategy)
+     */
+    public <T> void registerIdleStrategy(final Class<T> objectClass, final IdleStrategy idleStrategy) {
+        log.debug("register idle strategy [{}:{}]", objectClass, idleStrategy);
+
+        idleStrategies.put(objectClass, checkIdleStrategy(idleStrategy));
+    }
+
+    /**
+     * Starts all objects level by level of the dependency graph: an object is started after all objects it depends on,
+     * objects of the same level are started in parallel.
+     *
+     * @param timeout the time to wait for the whole graph
+     * @param unit    the time unit of the timeout
+     * @return the result of every object
+     */
+    public LifecycleReport startAll(final long timeout, final TimeUnit unit) {
+        return LifecycleGraph.of(allContexts())
+                .run(context -> context.request(Start.standard()), false, false,
+                        System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Stops all objects in the reverse order of {@link #startAll(long, TimeUnit)}: an object is stopped after all
+     * objects which depend on it.
+     *
+     * @param force   true to stop objects even if objects depending on them cannot be stopped
+     * @param timeout the time to wait for the whole graph
+     * @param unit    the time unit of the timeout
+     * @return the result of every object, without force objects after a failed level are not stopped
+     */
+    public LifecycleReport stopAll(final boolean force, final long timeout, final TimeUnit unit) {
+        return LifecycleGraph.of(allContexts())
+                .run(context -> context.request(force ? Stop.force() : Stop.nonBlocked()), true, !force,
+                        System.nanoTime() + unit.toNanos(timeout));
+    }
+
     @Override
     public void shutdown(final boolean force) {
-        if (started.compareAndSet(true, false)) {
-            boolean success = true;
-            for (final var context : new ArrayList<>(contexts.values())) {
-                if (!destroy(context.getId(), force) && !force) {
-                    success = false;
-                    break;
-                }
-            }
+        final var failures = shutdown(force, shutdownTimeout, TimeUnit.MILLISECONDS).failures();
+        if (!force && !failures.isEmpty()) {
+            final var failure = failures.values().iterator().next();
+            throw new RegistryException(failure.getMessage(), failure);
+        }
+    }
 
-            if (success) {
-                heartbeatTask.cancel(true);
-                heartbeatTask = null;
-            }
+    /**
+     * Destroys all objects in the reverse order of {@link #startAll(long, TimeUnit)}, objects of the same level are
+     * destroyed in parallel. Then stops the heartbeats and the executor, if it has been created by the dispatcher.
+     * Without force the dispatcher keeps running if any object cannot be destroyed, so the shutdown can be repeated.
+     * An object whose destroy has not completed in time stays registered until it processes the destroy.
+     *
+     * @param force   true to destroy objects even if objects depending on them cannot be destroyed
+     * @param timeout the time to destroy all objects and to wait for termination of the executor
+     * @param unit    the time unit of the timeout
+     * @return the result of every object, empty if the dispatcher has been already stopped
+     */
+    public LifecycleReport shutdown(final boolean force, final long timeout, final TimeUnit unit) {
+        if (!started.compareAndSet(true, false)) {
+            return new LifecycleReport(Map.of());
+        }
+
+        final var deadline = System.nanoTime() + unit.toNanos(timeout);
+        final var destroys = new HashMap<DefaultActiveObjectContext<?>, CompletableFuture<Object>>();
+        final var report = LifecycleGraph.of(allContexts()).run(context -> {
+            final var destroy = destroyAsync(context);
+            destroys.put(context, destroy);
+            return destroy;
+        }, true, !force, deadline);
+        destroys.forEach(this::registerUnlessDestroyed);
+        final var failures = report.failures();
+        failures.forEach((id, e) -> log.error("Cannot destroy object [{}]", id, e));
+        if (!force && !failures.isEmpty()) {
+            started.set(true);
+            return report;
+        }
+
+        final var scheduler = heartbeatScheduler;
+        if (scheduler != null) {
+            scheduler.close();
+            heartbeatScheduler = null;
         }
+        if (executorOwned) {
+            terminateExecutor(deadline);
+        }
+        return report;
     }
 
     @Override
@@ -190,71 +532,144 @@ public class DefaultActiveObjectsDispatcher implements ActiveObjectsDispatcher {
 
     @Override
     public boolean destroy(final Object objectId, final boolean force) {
-        var context = contexts.remove(objectId);
-        if (context != null) {
-            try {
-                final var success = context.request(InternalDestroy.instance())
-                        .get(getObjectStopTimeout(), TimeUnit.MILLISECONDS);
-
-                if (Boolean.TRUE.equals(success)) {
-                    context = null;
-                }
-            } catch (final InterruptedException | TimeoutException | ExecutionException e) {
-                log.error("Cannot destroy object", e);
-                if (!force) {
-                    throw new RegistryException(e.getMessage(), e);
-                }
-            } finally {
-                if (context != null) {
-                    contexts.put(context.getId(), context);
-                }
+        if (!(contexts.get(objectId) instanceof DefaultActiveObjectContext<?> context)) {
+            return true;
+        }
+
+        final var destroy = destroyAsync(context);
+        try {
+            destroy.get(getObjectStopTimeout(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final InterruptedException | TimeoutException | ExecutionException e) {
+            registerUnlessDestroyed(context, destroy);
+            log.error("Cannot destroy object", e);
+            if (!force) {
+                throw new RegistryException(e.getMessage(), e);
             }
+            return false;
         }
-        return context == null;
     }
 
-    private long getObjectStopTimeout() {
-        return TimeUnit.SECONDS.toMillis(15);
+    private List<DefaultActiveObjectContext<?>> allContexts() {
+        final var all = new ArrayList<DefaultActiveObjectContext<?>>(contexts.size());
+        contexts.forEach(value -> {
+            if (value instanceof DefaultActiveObjectContext<?> context) {
+                all.add(context);
+            }
+        });
+        return all;
     }
 
-    private void start() {
-        if (started.compareAndSet(false, true)) {
-            heartbeatTask = (HeartbeatTask) executor.submit(new HeartbeatTask());
+    /**
+     * Objects of a partitioned dispatcher run on event loops, a dispatching task waiting for messages would park the
+     * loop and stall every object of its partition.
+     */
+    private IdleStrategy checkIdleStrategy(final IdleStrategy idleStrategy) {
+        if (executor instanceof PartitionedExecutor && idleStrategy != IdleStrategyType.RESCHEDULE) {
+            throw new IllegalArgumentException("Partitioned dispatcher supports only the RESCHEDULE idle strategy: "
+                    + idleStrategy);
         }
+        return idleStrategy;
     }
 
-    private class HeartbeatTask extends ForkJoinTask<Void> {
+    /**
+     * Removes the object from the registry and sends it the destroy, the object is registered again if the destroy
+     * fails. A failure of the destroy listener completes the returned future exceptionally. A destroy which completes
+     * after the object has been registered again by {@link #registerUnlessDestroyed} removes it once more.
+     */
+    private CompletableFuture<Object> destroyAsync(final DefaultActiveObjectContext<?> context) {
+        final var objectId = context.getId();
+        if (!contexts.remove(objectId, context)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        registryEpoch.advance();
+        return context.request(InternalDestroy.instance()).whenComplete((result, error) -> {
+            if (error == null) {
+                if (contexts.remove(objectId, context)) {
+                    registryEpoch.advance();
+                }
+                metricsFactory.remove(objectId);
+            } else {
+                contexts.putIfAbsent(objectId, context);
+            }
+        });
+    }
+
+    private DispatchingSettings dispatchingSettings(final Class<?> objectClass, final Object objectId) {
+        return new DispatchingSettings(mailboxFactory, mailboxCapacities.get(objectClass),
+                coalescingClasses.contains(objectClass), idleStrategies.getOrDefault(objectClass, idleStrategy),
+                throughputQuota, lifecycleEventSink, heartbeatScheduler, metricsFactory.create(objectId, objectClass),
+                registryEpoch, dependencyTimeout);
+    }
+
+    private Executor executorOf(final Object objectId) {
+        return executor instanceof PartitionedExecutor partitioned ? partitioned.loopOf(objectId) : executor;
+    }
+
+    private long getObjectStopTimeout() {
+        return TimeUnit.SECONDS.toMillis(15);
+    }
 
-        @Serial
-        private static final long serialVersionUID = 3127215789445995259L;
+    /**
+     * Reserves the ID with a placeholder, so the factory and the creation listeners run without holding any lock
+     * and concurrent creation of the same ID fails fast. Lookups do not see the object until it is created.
+     */
+    private <T> ActiveObject<T> register(final Object id, final Supplier<DefaultActiveObjectContext<T>> creator) {
+        final var reservation = new Reservation(id);
+        if (contexts.putIfAbsent(id, reservation) != null) {
+            throw new RegistryException("Object with ID=[" + id + "] already registered");
+        }
 
-        @Override
-        public Void getRawResult() {
-            return null;
+        DefaultActiveObjectContext<T> context = null;
+        try {
+            context = creator.get();
+            contexts.replace(id, reservation, context);
+            return context;
+        } finally {
+            if (context == null) {
+                contexts.remove(id, reservation);
+                metricsFactory.remove(id);
+            }
         }
+    }
 
-        @Override
-        protected void setRawResult(final Void value) {
+    /**
+     * Registers the object again if its destroy has not completed in time, the object keeps running until it
+     * processes the destroy. The destroy may complete concurrently, so it is checked again after the registration.
+     */
+    private void registerUnlessDestroyed(final DefaultActiveObjectContext<?> context,
+                                         final CompletableFuture<Object> destroy) {
+        if (destroy.isDone()) {
+            return;
+        }
 
+        final var objectId = context.getId();
+        contexts.putIfAbsent(objectId, context);
+        if (destroy.isDone() && !destroy.isCompletedExceptionally() && contexts.remove(objectId, context)) {
+            registryEpoch.advance();
         }
+    }
 
-        @Override
-        protected boolean exec() {
-            while (started.get()) {
-                try {
-                    //noinspection BusyWait
-                    Thread.sleep(TimeUnit.MILLISECONDS.toMillis(heartbeatInterval));
-                } catch (final InterruptedException e) {
-                    break;
-                }
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            heartbeatScheduler = new HeartbeatScheduler(heartbeatInterval);
+        }
+    }
 
-                for (final var context : contexts.values()) {
-                    if (started.get()) {
-                        context.heartbeat();
-                    }
-                }
+    private void terminateExecutor(final long deadline) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Executor has not been terminated in time, remaining tasks are interrupted");
+                executor.shutdownNow();
             }
-            return true;
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
+
+    private record Reservation(Object id) {
+    }
 }
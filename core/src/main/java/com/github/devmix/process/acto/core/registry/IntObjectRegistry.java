@@ -0,0 +1,89 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.devmix.process.acto.core.registry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Registry for {@link Integer} IDs which keeps keys unboxed in a primitive array, without a boxed key per entry.
+ *
+ * @param <V> the type of values
+ * @author Sergey Grachev
+ */
+public final class IntObjectRegistry<V> extends AbstractShardedRegistry<V, IntObjectRegistry.IntTable> {
+
+    public IntObjectRegistry() {
+        this(defaultShards());
+    }
+
+    /**
+     * @param shards the number of shards, rounded up to a power of two
+     */
+    public IntObjectRegistry(final int shards) {
+        super(shards, IntTable::new);
+    }
+
+    @Override
+    int hash(final Object id) {
+        return hash(((Integer) id).intValue());
+    }
+
+    @Override
+    boolean isKey(@Nullable final Object id) {
+        return id instanceof Integer;
+    }
+
+    @Override
+    Class<?> keyType() {
+        return Integer.class;
+    }
+
+    private static int hash(final int id) {
+        return mix(id);
+    }
+
+    static final class IntTable extends AbstractShardedRegistry.Table {
+
+        final int[] keys;
+
+        IntTable(final int capacity) {
+            super(capacity);
+            this.keys = new int[capacity];
+        }
+
+        @Override
+        int hashAt(final int index) {
+            return hash(keys[index]);
+        }
+
+        @Override
+        void copyKey(final Table source, final int sourceIndex, final int index) {
+            keys[index] = ((IntTable) source).keys[sourceIndex];
+        }
+
+        @Override
+        boolean keyEquals(final int index, final Object id, final int hash) {
+            return keys[index] == ((Integer) id).intValue();
+        }
+
+        @Override
+        void setKey(final int index, final Object id, final int hash) {
+            keys[index] = ((Integer) id).intValue();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+import com.github.devmix.process.acto.core.context.DefaultActiveObjectContext;
+import com.github.devmix.process.acto.exceptions.DependencyException;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Graph of objects built once from their {@link DefaultActiveObjectContext#getDependsOnIds() dependencies} and split
+ * into topological levels: objects of a level depend only on objects of lower levels, so a level can be started or
+ * stopped in parallel once the previous one is done. Objects of dependency cycles form the last level, they cannot be
+ * started but can be stopped.
+ *
+ * @author Sergey Grachev
+ */
+final class LifecycleGraph {
+
+    private final List<List<DefaultActiveObjectContext<?>>> levels;
+    private final boolean cyclic;
+
+    private LifecycleGraph(final List<List<DefaultActiveObjectContext<?>>> levels, final boolean cyclic) {
+        this.levels = levels;
+        this.cyclic = cyclic;
+    }
+
+    static LifecycleGraph of(final Collection<DefaultActiveObjectContext<?>> contexts) {
+        final var nodes = contexts.toArray(new DefaultActiveObjectContext<?>[0]);
+        final var indexes = new HashMap<Object, Integer>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            indexes.put(nodes[i].getId(), i);
+        }
+
+        // edges from a dependency to the objects depending on it, dependencies outside the graph are ignored
+        final var dependents = new int[nodes.length][];
+        final var dependentsCount = new int[nodes.length];
+        final var pending = new int[nodes.length];
+        final var dependencies = new int[nodes.length][];
+        for (int i = 0; i < nodes.length; i++) {
+            final var ids = nodes[i].getDependsOnIds();
+            final var found = new int[ids.size()];
+            var count = 0;
+            for (final var dependencyId : ids) {
+                final var index = indexes.get(dependencyId);
+                if (index != null && index != i) {
+                    found[count++] = index;
+                    dependentsCount[index]++;
+                }
+            }
+            dependencies[i] = found;
+            pending[i] = count;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            dependents[i] = new int[dependentsCount[i]];
+            dependentsCount[i] = 0;
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            for (int j = 0; j < pending[i]; j++) {
+                final var dependency = dependencies[i][j];
+                dependents[dependency][dependentsCount[dependency]++] = i;
+            }
+        }
+
+        final var levels = new ArrayList<List<DefaultActiveObjectContext<?>>>();
+        final var visited = new boolean[nodes.length];
+        var current = new ArrayDeque<Integer>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (pending[i] == 0) {
+                current.add(i);
+            }
+        }
+
+        var remaining = nodes.length;
+        while (!current.isEmpty()) {
+            final var level = new ArrayList<DefaultActiveObjectContext<?>>(current.size());
+            final var next = new ArrayDeque<Integer>();
+            for (final var index : current) {
+                visited[index] = true;
+                level.add(nodes[index]);
+                for (final var dependent : dependents[index]) {
+                    if (--pending[dependent] == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            remaining -= level.size();
+            levels.add(level);
+            current = next;
+        }
+
+        if (remaining > 0) {
+            final var cyclic = new ArrayList<DefaultActiveObjectContext<?>>(remaining);
+            for (int i = 0; i < nodes.length; i++) {
+                if (!visited[i]) {
+                    cyclic.add(nodes[i]);
+                }
+            }
+            levels.add(cyclic);
+        }
+
+        return new LifecycleGraph(levels, remaining > 0);
+    }
+
+    List<List<DefaultActiveObjectContext<?>>> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Applies the action level by level, all objects of a level at once.
+     *
+     * @param action         the action returning a future of its completion
+     * @param reverse        true to begin with objects nobody depends on, e.g. to stop the graph, otherwise objects
+     *                       of dependency cycles are not processed
+     * @param haltOnFailure  true to skip the next levels if an object of a level has failed
+     * @param deadline       the time by {@link System#nanoTime()} after which no new level is begun
+     * @return the results of all objects of the graph
+     */
+    LifecycleReport run(final Function<DefaultActiveObjectContext<?>, CompletableFuture<?>> action,
+                        final boolean reverse, final boolean haltOnFailure, final long deadline) {
+        final var results = new LinkedHashMap<Object, LifecycleReport.Result>();
+        Throwable skipped = null;
+        for (int n = 0; n < levels.size(); n++) {
+            final var levelIndex = reverse ? levels.size() - 1 - n : n;
+            final var level = levels.get(levelIndex);
+
+            if (skipped == null && System.nanoTime() - deadline >= 0) {
+                skipped = new TimeoutException("Deadline has expired before the object has been processed");
+            }
+            final var cycle = !reverse && cyclic && levelIndex == levels.size() - 1;
+            if (skipped != null || cycle) {
+                final var error = skipped != null ? skipped : new DependencyException("Cyclic dependency");
+                for (final var context : level) {
+                    results.put(context.getId(), new LifecycleReport.Result(levelIndex, context.getStatus(), error));
+                }
+                continue;
+            }
+
+            final var futures = new CompletableFuture<?>[level.size()];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = apply(action, level.get(i));
+            }
+            await(futures, deadline);
+
+            var failed = false;
+            for (int i = 0; i < futures.length; i++) {
+                final var context = level.get(i);
+                final var error = errorOf(futures[i]);
+                failed |= error != null;
+                results.put(context.getId(), new LifecycleReport.Result(levelIndex, context.getStatus(), error));
+            }
+
+            if (failed && haltOnFailure) {
+                skipped = new CancellationException("Object has not been processed because of failures of the previous level");
+            }
+        }
+        return new LifecycleReport(results);
+    }
+
+    private static CompletableFuture<?> apply(final Function<DefaultActiveObjectContext<?>, CompletableFuture<?>> action,
+                                              final DefaultActiveObjectContext<?> context) {
+        try {
+            return action.apply(context);
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void await(final CompletableFuture<?>[] futures, final long deadline) {
+        try {
+            CompletableFuture.allOf(futures).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | TimeoutException e) {
+            // results are checked for every object
+        }
+    }
+
+    @Nullable
+    private static Throwable errorOf(final CompletableFuture<?> future) {
+        if (!future.isDone()) {
+            return new TimeoutException("Deadline has expired before the object has been processed");
+        }
+        try {
+            future.join();
+            return null;
+        } catch (final CompletionException | CancellationException e) {
+            return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+import com.github.devmix.process.acto.ActiveObjectStatus;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of a lifecycle operation applied to many objects at once, e.g. {@link DefaultActiveObjectsDispatcher#startAll}.
+ *
+ * @param results the result of every object by its ID, in the order the objects have been processed
+ * @author Sergey Grachev
+ */
+public record LifecycleReport(Map<Object, Result> results) {
+
+    /**
+     * Returns errors of the objects which have failed, including objects which have not been processed because of
+     * the deadline or a failure of a previous level.
+     *
+     * @return the errors by object IDs
+     */
+    public Map<Object, Throwable> failures() {
+        final var result = new LinkedHashMap<Object, Throwable>();
+        results.forEach((id, value) -> {
+            if (value.error() != null) {
+                result.put(id, value.error());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Checks whether the operation has succeeded for all objects.
+     *
+     * @return true if no object has failed
+     */
+    public boolean isSuccess() {
+        for (final var value : results.values()) {
+            if (value.error() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Result of one object.
+     *
+     * @param level  the topological level of the object, objects of the same level are processed in parallel
+     * @param status the status of the object after the operation
+     * @param error  the error of the operation, or null if it has succeeded
+     */
+    public record Result(int level, ActiveObjectStatus status, @Nullable Throwable error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
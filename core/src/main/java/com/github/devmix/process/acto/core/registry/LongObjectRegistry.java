@@ -0,0 +1,89 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.devmix.process.acto.core.registry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Registry for {@link Long} IDs which keeps keys unboxed in a primitive array, without a boxed key per entry.
+ *
+ * @param <V> the type of values
+ * @author Sergey Grachev
+ */
+public final class LongObjectRegistry<V> extends AbstractShardedRegistry<V, LongObjectRegistry.LongTable> {
+
+    public LongObjectRegistry() {
+        this(defaultShards());
+    }
+
+    /**
+     * @param shards the number of shards, rounded up to a power of two
+     */
+    public LongObjectRegistry(final int shards) {
+        super(shards, LongTable::new);
+    }
+
+    @Override
+    int hash(final Object id) {
+        return hash(((Long) id).longValue());
+    }
+
+    @Override
+    boolean isKey(@Nullable final Object id) {
+        return id instanceof Long;
+    }
+
+    @Override
+    Class<?> keyType() {
+        return Long.class;
+    }
+
+    private static int hash(final long id) {
+        return mix(Long.hashCode(id));
+    }
+
+    static final class LongTable extends AbstractShardedRegistry.Table {
+
+        final long[] keys;
+
+        LongTable(final int capacity) {
+            super(capacity);
+            this.keys = new long[capacity];
+        }
+
+        @Override
+        int hashAt(final int index) {
+            return hash(keys[index]);
+        }
+
+        @Override
+        void copyKey(final Table source, final int sourceIndex, final int index) {
+            keys[index] = ((LongTable) source).keys[sourceIndex];
+        }
+
+        @Override
+        boolean keyEquals(final int index, final Object id, final int hash) {
+            return keys[index] == ((Long) id).longValue();
+        }
+
+        @Override
+        void setKey(final int index, final Object id, final int hash) {
+            keys[index] = ((Long) id).longValue();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * Storage of active objects by their IDs used by the dispatcher. Lookups must not block, updates of unrelated IDs
+ * should not contend.
+ *
+ * @param <V> the type of values
+ * @author Sergey Grachev
+ * @see ShardedObjectRegistry
+ * @see LongObjectRegistry
+ * @see IntObjectRegistry
+ */
+public interface ObjectRegistry<V> {
+
+    /**
+     * Creates a registry for IDs of any type.
+     *
+     * @param <V> the type of values
+     * @return a new registry
+     */
+    static <V> ObjectRegistry<V> forObjects() {
+        return new ShardedObjectRegistry<>();
+    }
+
+    /**
+     * Creates a registry for {@link String} IDs. Strings are stored as is, so the registry of objects is used.
+     *
+     * @param <V> the type of values
+     * @return a new registry
+     */
+    static <V> ObjectRegistry<V> forStrings() {
+        return new ShardedObjectRegistry<>();
+    }
+
+    /**
+     * Creates a registry for {@link Long} IDs which are stored unboxed.
+     *
+     * @param <V> the type of values
+     * @return a new registry
+     */
+    static <V> ObjectRegistry<V> forLongs() {
+        return new LongObjectRegistry<>();
+    }
+
+    /**
+     * Creates a registry for {@link Integer} IDs which are stored unboxed.
+     *
+     * @param <V> the type of values
+     * @return a new registry
+     */
+    static <V> ObjectRegistry<V> forInts() {
+        return new IntObjectRegistry<>();
+    }
+
+    /**
+     * Returns the value of an ID.
+     *
+     * @param id the ID
+     * @return the value, or null if absent
+     */
+    @Nullable
+    V get(Object id);
+
+    /**
+     * Adds a value if the ID is absent.
+     *
+     * @param id    the ID
+     * @param value the value
+     * @return the current value, or null if the new value has been added
+     */
+    @Nullable
+    V putIfAbsent(Object id, V value);
+
+    /**
+     * Replaces the value of an ID if it equals the expected one.
+     *
+     * @param id       the ID
+     * @param expected the expected current value
+     * @param value    the new value
+     * @return true if the value has been replaced
+     */
+    boolean replace(Object id, V expected, V value);
+
+    /**
+     * Removes the value of an ID if it equals the expected one.
+     *
+     * @param id       the ID
+     * @param expected the expected current value
+     * @return true if the value has been removed
+     */
+    boolean remove(Object id, V expected);
+
+    /**
+     * Returns the number of IDs.
+     *
+     * @return the number of IDs
+     */
+    int size();
+
+    /**
+     * Performs an action for each value, values added or removed concurrently may be skipped.
+     *
+     * @param action the action
+     */
+    void forEach(Consumer<? super V> action);
+}
@@ -0,0 +1,46 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+/**
+ * Counter of destroyed objects of a dispatcher. Objects cache handles of other objects they send messages to and
+ * drop the cache when the epoch changes, so a handle of a destroyed object is never reused.
+ *
+ * @author Sergey Grachev
+ */
+public final class RegistryEpoch {
+
+    private volatile long value;
+
+    /**
+     * Returns the current epoch.
+     *
+     * @return the epoch, changed every time an object is removed from the registry
+     */
+    public long current() {
+        return value;
+    }
+
+    /**
+     * Moves to the next epoch, called after an object has been removed from the registry.
+     */
+    public synchronized void advance() {
+        value++;
+    }
+}
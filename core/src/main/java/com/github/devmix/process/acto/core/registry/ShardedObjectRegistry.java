@@ -0,0 +1,91 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.registry;
+
+import javax.annotation.Nullable;
+
+/**
+ * Registry for IDs of any type, e.g. strings or records, which keeps keys with their hash codes.
+ *
+ * @param <V> the type of values
+ * @author Sergey Grachev
+ */
+public final class ShardedObjectRegistry<V> extends AbstractShardedRegistry<V, ShardedObjectRegistry.ObjectTable> {
+
+    public ShardedObjectRegistry() {
+        this(defaultShards());
+    }
+
+    /**
+     * @param shards the number of shards, rounded up to a power of two
+     */
+    public ShardedObjectRegistry(final int shards) {
+        super(shards, ObjectTable::new);
+    }
+
+    @Override
+    int hash(final Object id) {
+        return mix(id.hashCode());
+    }
+
+    @Override
+    boolean isKey(@Nullable final Object id) {
+        return id != null;
+    }
+
+    @Override
+    Class<?> keyType() {
+        return Object.class;
+    }
+
+    static final class ObjectTable extends AbstractShardedRegistry.Table {
+
+        final Object[] keys;
+        final int[] hashes;
+
+        ObjectTable(final int capacity) {
+            super(capacity);
+            this.keys = new Object[capacity];
+            this.hashes = new int[capacity];
+        }
+
+        @Override
+        int hashAt(final int index) {
+            return hashes[index];
+        }
+
+        @Override
+        void copyKey(final Table source, final int sourceIndex, final int index) {
+            final var table = (ObjectTable) source;
+            keys[index] = table.keys[sourceIndex];
+            hashes[index] = table.hashes[sourceIndex];
+        }
+
+        @Override
+        boolean keyEquals(final int index, final Object id, final int hash) {
+            return hashes[index] == hash && id.equals(keys[index]);
+        }
+
+        @Override
+        void setKey(final int index, final Object id, final int hash) {
+            keys[index] = id;
+            hashes[index] = hash;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.core.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs tasks at given deadlines on its own daemon thread, used to deliver heartbeats only to objects whose idle
+ * deadline has come.
+ *
+ * <p>Deadlines are kept in a heap which is owned by the scheduler thread, producers only add timers to a lock-free
+ * inbox. The thread wakes up at most once per resolution and fires all timers which are due by then, so a timer
+ * may be late by up to the resolution but is never run early. Tasks are run on the scheduler thread and must be
+ * short and must not block.</p>
+ *
+ * @author Sergey Grachev
+ */
+public final class HeartbeatScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HeartbeatScheduler.class);
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Queue<Timer> inbox = new ConcurrentLinkedQueue<>();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private final Thread thread;
+
+    private volatile long resolution;
+    private volatile long nextWakeUp = Long.MAX_VALUE;
+    private volatile boolean running = true;
+
+    /**
+     * @param resolution the resolution of deadlines in milliseconds
+     */
+    public HeartbeatScheduler(final long resolution) {
+        setResolution(resolution);
+        this.thread = new Thread(this::run, "acto-heartbeat-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task     the task
+     * @param deadline the value of {@link System#nanoTime()} when the task must be run
+     */
+    public void schedule(final Runnable task, final long deadline) {
+        inbox.offer(new Timer(deadline, task));
+        if (deadline - nextWakeUp < 0) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public long getResolution() {
+        return TimeUnit.NANOSECONDS.toMillis(resolution);
+    }
+
+    /**
+     * @param resolution the resolution of deadlines in milliseconds
+     */
+    public void setResolution(final long resolution) {
+        this.resolution = TimeUnit.MILLISECONDS.toNanos(Math.max(1, resolution));
+    }
+
+    /**
+     * Stops the scheduler thread, pending tasks are discarded.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        var lastRun = System.nanoTime();
+        while (running) {
+            Timer timer;
+            while ((timer = inbox.poll()) != null) {
+                timers.add(timer);
+            }
+
+            final var now = System.nanoTime();
+            if (now - lastRun >= resolution) {
+                while ((timer = timers.peek()) != null && timer.deadline - now <= 0) {
+                    timers.poll();
+                    try {
+                        timer.task.run();
+                    } catch (final Exception e) {
+                        LOG.error(e.getMessage(), e);
+                    }
+                }
+                lastRun = now;
+            }
+
+            final var next = timers.peek();
+            final var wakeUp = Math.max(next != null ? next.deadline : now + TimeUnit.SECONDS.toNanos(1), lastRun + resolution);
+            nextWakeUp = wakeUp;
+            if (inbox.isEmpty()) {
+                LockSupport.parkNanos(this, wakeUp - System.nanoTime());
+            }
+            nextWakeUp = Long.MIN_VALUE;
+        }
+    }
+
+    private record Timer(long deadline, Runnable task) implements Comparable<Timer> {
+
+        @Override
+        public int compareTo(final Timer other) {
+            return Long.compare(deadline - other.deadline, 0);
+        }
+    }
+}
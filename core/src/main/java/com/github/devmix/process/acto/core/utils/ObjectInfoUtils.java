@@ -21,6 +21,7 @@ package com.github.devmix.process.acto.core.utils;
 import com.github.devmix.process.acto.ActiveObject;
 import com.github.devmix.process.acto.ActiveObjectDependency;
 import com.github.devmix.process.acto.ActiveObjectStatus;
+import com.github.devmix.process.acto.messages.LifecyclePath;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.collections4.MapUtils;
 
@@ -60,6 +61,30 @@ public final class ObjectInfoUtils {
         return result.append(']').toString();
     }
 
+    /**
+     * Generates a string representation of a path of ActiveObject instances, beginning with the root.
+     *
+     * @param path The path to unroll into a chain.
+     *             If null, returns an empty bracketed string "[]".
+     * @return A string representation of the chain of ActiveObject IDs.
+     * @see #unrollChain(Collection)
+     */
+    public static String unrollChain(@Nullable final LifecyclePath path) {
+        if (path == null) {
+            return "[]";
+        }
+
+        final var result = new StringBuilder("[");
+        for (final var id : path.ids()) {
+            if (result.length() > 1) {
+                result.append(" > ");
+            }
+            result.append(id);
+        }
+
+        return result.append(']').toString();
+    }
+
     /**
      * Generates a detailed string representation of an ActiveObject's state,
      * including its ID, status, and dependencies.
@@ -26,6 +26,7 @@ import com.github.devmix.process.acto.messages.Start
 import com.github.devmix.process.acto.messages.Stop
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 
 import static ActiveObjectStatus.ACTIVATED
@@ -116,6 +117,99 @@ class ActiveObjectFactoryTest extends Specification {
         r.shutdown(true)
     }
 
+    def 'start with virtual threads'() {
+        given:
+        def r = DefaultActiveObjectsDispatcher.withVirtualThreads()
+
+        def o1 = r.create(EchoObject::new, "e:1", new EchoOptions(["e:2"], null)) as DefaultActiveObjectContext
+        def o2 = r.create(EchoObject::new, "e:2", new EchoOptions(["e:3"], null)) as DefaultActiveObjectContext
+        def o3 = r.create(EchoObject::new, "e:3", new EchoOptions(null, ["e:4"])) as DefaultActiveObjectContext
+        def o4 = r.create(EchoObject::new, "e:4", new EchoOptions(null, null)) as DefaultActiveObjectContext
+
+        when:
+        o1.request(Start.standard()).get()
+
+        then:
+        allWithStatus(STARTED, o1, o2, o3, o4)
+        o2.findRequiredFor('e:1') != null
+        o3.findRequiredFor('e:2') != null
+        o4.findRequiredFor('e:3') != null
+
+        cleanup:
+        r.shutdown(true)
+    }
+
+    def 'start with shared dependency'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+
+        def o1 = r.create(EchoObject::new, "e:1", new EchoOptions(["e:2", "e:3"], null)) as DefaultActiveObjectContext
+        def o2 = r.create(EchoObject::new, "e:2", new EchoOptions(["e:4"], null)) as DefaultActiveObjectContext
+        def o3 = r.create(EchoObject::new, "e:3", new EchoOptions(["e:4"], null)) as DefaultActiveObjectContext
+        def o4 = r.create(EchoObject::new, "e:4", new EchoOptions(null, null)) as DefaultActiveObjectContext
+
+        when:
+        o1.request(Start.standard()).get()
+
+        then:
+        allWithStatus(STARTED, o1, o2, o3, o4)
+        o2.findDependsOn('e:4').object == o4
+        o3.findDependsOn('e:4').object == o4
+        o4.findRequiredFor('e:2') != null
+        o4.findRequiredFor('e:3') != null
+
+        cleanup:
+        r.shutdown(true)
+    }
+
+    def 'start with many dependencies'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+        r.dependencyTimeout = 5_000
+
+        def ids = (1..20).collect { "d:$it".toString() }
+        def dependencies = ids.collect { r.create(EchoObject::new, it, new EchoOptions(null, null)) as DefaultActiveObjectContext }
+        def o1 = r.create(EchoObject::new, "e:1", new EchoOptions(ids, ["e:missing"])) as DefaultActiveObjectContext
+
+        when:
+        o1.request(Start.standard()).get()
+
+        then:
+        o1.status == STARTED
+        o1.dependencyTimeout == 5_000
+        allWithStatus(STARTED, *dependencies)
+        ids.every { o1.findDependsOn(it).resolved }
+        !o1.findDependsOn('e:missing').resolved
+        o1.findDependsOn('e:missing').lastError != null
+
+        cleanup:
+        r.shutdown(true)
+    }
+
+    def 'start and stop of deep chain on single thread'() {
+        given:
+        def executor = Executors.newFixedThreadPool(1)
+        def r = new DefaultActiveObjectsDispatcher(TimeUnit.MINUTES.toMillis(5), executor)
+
+        def objects = (1..10).collect {
+            r.create(EchoObject::new, "e:$it".toString(), new EchoOptions(it < 10 ? ["e:${it + 1}".toString()] : null, null)) as DefaultActiveObjectContext
+        }
+
+        when:
+        objects.first().request(Start.standard()).get(10, TimeUnit.SECONDS)
+        then:
+        allWithStatus(STARTED, *objects)
+
+        when:
+        objects.last().request(Stop.force()).get(10, TimeUnit.SECONDS)
+        then:
+        allWithStatus(STOPPED, *objects)
+
+        cleanup:
+        r.shutdown(true)
+        executor.shutdown()
+    }
+
     def 'stop with force'() {
         given:
         def r = new DefaultActiveObjectsDispatcher()
@@ -162,6 +256,34 @@ class ActiveObjectFactoryTest extends Specification {
         r.shutdown(true)
     }
 
+    def 'stop with force of object required for many objects'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+
+        def hub = r.create(EchoObject::new, "e:0", new EchoOptions(null, null)) as DefaultActiveObjectContext
+        def objects = (1..40).collect {
+            r.create(EchoObject::new, "e:$it".toString(), new EchoOptions(["e:0"], null)) as DefaultActiveObjectContext
+        }
+
+        when:
+        objects.each { it.request(Start.standard()).get() }
+        then:
+        hub.status == STARTED
+        allWithStatus(STARTED, *objects)
+        objects.every { hub.findRequiredFor(it.id) != null }
+        objects.every { it.findDependsOn('e:0').object == hub }
+
+        when:
+        hub.request(Stop.force()).get()
+        then:
+        hub.status == STOPPED
+        allWithStatus(STOPPED, *objects)
+        objects.every { hub.findRequiredFor(it.id) == null }
+
+        cleanup:
+        r.shutdown(true)
+    }
+
     def 'transition between activate and deactivate state'() {
         given:
         def r = new DefaultActiveObjectsDispatcher(10)
@@ -30,6 +30,9 @@ import com.github.devmix.process.acto.messages.Start
 import com.github.devmix.process.acto.messages.Stop
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 
 /**
  * @author Sergey Grachev
@@ -101,6 +104,43 @@ class ActiveObjectLifecycleTest extends Specification {
         registry.shutdown(true)
     }
 
+    def 'object stays registered while its destroy has timed out'() {
+        given:
+        def registry = new DefaultActiveObjectsDispatcher()
+        def entered = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        registry.registerFactory(Map.class, (id, options) -> [:])
+        registry.registerLifecycle(Map.class, { message, context ->
+            entered.countDown()
+            release.await(5, TimeUnit.SECONDS)
+        } as BlockingLifecycle)
+        def object = registry.create(Map.class, 'map-1', null)
+        object.requestAndForget('block')
+        entered.await(5, TimeUnit.SECONDS)
+
+        when:
+        def report = registry.shutdown(false, 100, TimeUnit.MILLISECONDS)
+        then:
+        report.failures().keySet() == ['map-1'] as Set
+        registry.findById('map-1') == object
+
+        when:
+        release.countDown()
+        def deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (registry.findById('map-1') != null && System.nanoTime() < deadline) {
+            Thread.sleep(10)
+        }
+        then:
+        registry.findById('map-1') == null
+
+        cleanup:
+        release.countDown()
+        registry.shutdown(true)
+    }
+
+    private static interface BlockingLifecycle extends ActiveObjectLifecycle<Map>, OnMessageListener<Map> {
+    }
+
     private static final class MapLifecycle implements ActiveObjectLifecycle<Map>,
             OnCreateListener<Map>, OnStartListener<Map>, OnMessageListener<Map>, OnStopListener<Map>, OnDestroyListener<Map>, OnIdleListener<Map> {
 
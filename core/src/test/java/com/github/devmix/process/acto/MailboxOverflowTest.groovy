@@ -0,0 +1,306 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.exceptions.MailboxOverflowException
+import com.github.devmix.process.acto.fixtures.GatedObject
+import com.github.devmix.process.acto.listeners.OnMessageListener
+import com.github.devmix.process.acto.messages.AttributeSetter
+import com.github.devmix.process.acto.messages.CoalescingMessage
+import com.github.devmix.process.acto.messages.Invoke
+import com.github.devmix.process.acto.messages.Start
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import static com.github.devmix.process.acto.MailboxOverflowPolicy.BLOCK
+import static com.github.devmix.process.acto.MailboxOverflowPolicy.COALESCE
+import static com.github.devmix.process.acto.MailboxOverflowPolicy.DROP_NEWEST
+import static com.github.devmix.process.acto.MailboxOverflowPolicy.DROP_OLDEST
+import static com.github.devmix.process.acto.MailboxOverflowPolicy.FAIL
+
+/**
+ * @author Sergey Grachev
+ */
+class MailboxOverflowTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'fail'() {
+        given:
+        def object = blocked(FAIL)
+
+        when:
+        def a = object.request('a')
+        def b = object.request('b')
+        def c = object.request('c')
+        then:
+        object.mailboxCapacity == 2
+        object.mailboxOverflowPolicy == FAIL
+        overflow(c)
+
+        when:
+        object.requestAndForget('d')
+        then:
+        thrown(MailboxOverflowException)
+
+        when: 'system messages are not limited'
+        def start = object.request(Start.standard())
+        object.instance.release.countDown()
+        then:
+        a.get() == 'a!'
+        b.get() == 'b!'
+        start.get() != null
+        object.instance.processed == ['block', 'a', 'b']
+    }
+
+    def 'drop newest'() {
+        given:
+        def object = blocked(DROP_NEWEST)
+
+        when:
+        object.request('a')
+        def b = object.request('b')
+        def c = object.request('c')
+        object.requestAndForget('d')
+        object.instance.release.countDown()
+        b.get()
+        then:
+        overflow(c)
+        object.instance.processed == ['block', 'a', 'b']
+    }
+
+    def 'drop oldest'() {
+        given:
+        def object = blocked(DROP_OLDEST)
+
+        when:
+        def a = object.request('a')
+        object.request('b')
+        def c = object.request('c')
+        then: 'the oldest message is evicted when the new one is added'
+        a.completedExceptionally
+        overflow(a)
+
+        when:
+        (1..100).each { object.requestAndForget("x$it".toString()) }
+        def d = object.request('d')
+        object.instance.release.countDown()
+        then:
+        d.get() == 'd!'
+        overflow(c)
+        object.instance.processed == ['block', 'x100', 'd']
+    }
+
+    def 'coalesce'() {
+        given:
+        def object = blocked(COALESCE)
+
+        when:
+        def a1 = object.request('a')
+        def b = object.request('b')
+        def a2 = object.request('a')
+        def x = object.request('x')
+        object.instance.release.countDown()
+        then:
+        a1.get() == 'a!'
+        a2.get() == 'a!'
+        b.get() == 'b!'
+        overflow(x)
+        object.instance.processed == ['block', 'a', 'b']
+    }
+
+    def 'coalesce a request with an equal message sent without waiting for the result'() {
+        given:
+        def object = blocked(COALESCE)
+
+        when:
+        object.requestAndForget('a')
+        object.request('b')
+        def a = object.request('a')
+        object.instance.release.countDown()
+        then:
+        a.get(5, TimeUnit.SECONDS) == 'a!'
+        object.instance.processed == ['block', 'a', 'b']
+    }
+
+    def 'block'() {
+        given:
+        def object = blocked(BLOCK)
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        object.request('a')
+        object.request('b')
+        def c = executor.submit({ object.request('c') } as java.util.concurrent.Callable<CompletableFuture<String>>)
+        Thread.sleep(100)
+        then:
+        !c.done
+
+        when:
+        object.instance.release.countDown()
+        then:
+        c.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS) == 'c!'
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'block does not wait on a dispatching thread'() {
+        given: 'two objects which share the only thread of the executor'
+        def executor = Executors.newSingleThreadExecutor()
+        def dispatcher = new DefaultActiveObjectsDispatcher(TimeUnit.MINUTES.toMillis(5), executor)
+        dispatcher.registerFactory(PingObject.class, PingObject::new)
+        dispatcher.registerMailboxCapacity(PingObject.class, 1, BLOCK)
+        def a = dispatcher.create(PingObject.class, 'a', 'b')
+        def b = dispatcher.create(PingObject.class, 'b', 'a')
+
+        when:
+        def overflowsOfA = a.request('flood').get(5, TimeUnit.SECONDS)
+        def overflowsOfB = b.request('flood').get(5, TimeUnit.SECONDS)
+        a.request(Start.standard()).get(5, TimeUnit.SECONDS)
+        then:
+        overflowsOfA == 2
+        overflowsOfB == 2
+        b.instance.received == 1
+        a.instance.received == 1
+
+        cleanup:
+        dispatcher.shutdown(true)
+        executor.shutdown()
+    }
+
+    def 'coalescing mailbox keeps the latest message of every key'() {
+        given:
+        registry.registerCoalescing(GatedObject.class)
+        def object = blocked(FAIL)
+
+        when: 'waiting messages of a key take one place in the mailbox'
+        (1..10).each { object.requestAndForget(new Keyed('k', it)) }
+        (1..10).each { object.requestAndForget(new Keyed('n', it)) }
+        object.requestAndForget('x')
+        then:
+        thrown(MailboxOverflowException)
+
+        when:
+        object.instance.release.countDown()
+        object.request(Start.standard()).get(5, TimeUnit.SECONDS)
+        then:
+        object.instance.processed*.toString() == ['block', 'k=10', 'n=10']
+    }
+
+    def 'coalescing mailbox applies the latest value of a setter'() {
+        given:
+        registry.registerCoalescing(ConfigObject.class)
+        def object = registry.create(ConfigObject::new, 'config', null)
+        def release = new CountDownLatch(1)
+        def setter = { o, v -> o.values.add(v) } as AttributeSetter<ConfigObject, Integer>
+        object.invokeAnForget({ release.await(5, TimeUnit.SECONDS) } as Invoke<ConfigObject>)
+
+        when:
+        (1..10).each { object.setAndForget(setter, it) }
+        def set = object.set(setter, 11)
+        release.countDown()
+        set.get(5, TimeUnit.SECONDS)
+        then:
+        object.instance.values == [10, 11]
+    }
+
+    private ActiveObject<GatedObject> blocked(final MailboxOverflowPolicy policy) {
+        registry.registerFactory(GatedObject.class, GatedObject::new)
+        registry.registerMailboxCapacity(GatedObject.class, 2, policy)
+        return GatedObject.block(registry.create(GatedObject.class, 'gate', null))
+    }
+
+    private static boolean overflow(final CompletableFuture<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS)
+            return false
+        } catch (final ExecutionException e) {
+            return e.cause instanceof MailboxOverflowException
+        }
+    }
+
+    private static final class PingObject implements OnMessageListener<PingObject> {
+
+        final Object peer
+        volatile int received
+
+        PingObject(final Object id, final Object peer) {
+            this.peer = peer
+        }
+
+        @Override
+        Object onObjectMessage(Object message, ActiveObjectContext<PingObject> context) {
+            if (message != 'flood') {
+                received++
+                return null
+            }
+
+            def overflows = 0
+            3.times {
+                try {
+                    context.resolve(peer).requestAndForget('ping')
+                } catch (final MailboxOverflowException ignored) {
+                    overflows++
+                }
+            }
+            return overflows
+        }
+    }
+
+    private static final class ConfigObject {
+
+        final List<Object> values = new CopyOnWriteArrayList<>()
+
+        ConfigObject(final Object id, final Object options) {
+        }
+    }
+
+    private static final class Keyed implements CoalescingMessage {
+
+        final Object key
+        final int value
+
+        Keyed(final Object key, final int value) {
+            this.key = key
+            this.value = value
+        }
+
+        @Override
+        Object getCoalescingKey() {
+            return key
+        }
+
+        @Override
+        String toString() {
+            return "$key=$value"
+        }
+    }
+}
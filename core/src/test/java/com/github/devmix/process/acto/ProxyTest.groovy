@@ -0,0 +1,194 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.exceptions.DispatchingException
+import com.github.devmix.process.acto.fixtures.ListeningMeterObject
+import com.github.devmix.process.acto.fixtures.Meter
+import com.github.devmix.process.acto.fixtures.MeterObject
+import com.github.devmix.process.acto.fixtures.Recorder
+import spock.lang.Specification
+
+import java.lang.reflect.Proxy
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class ProxyTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'calls of proxy methods are processed by the object'() {
+        given:
+        def object = registry.create(AccountObject::new, 'account', null)
+        def account = registry.proxy(object, Account)
+
+        when:
+        account.deposit(10)
+        account.deposit(5)
+        def balance = account.balance().get(5, TimeUnit.SECONDS)
+
+        then:
+        balance == 15L
+        account.owner().toCompletableFuture().get(5, TimeUnit.SECONDS) == null
+        account.toString() == 'AccountProxy{id=account}'
+        account == account
+        account != registry.proxy(object, Account)
+
+        when:
+        account.withdraw(100).get(5, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof IllegalStateException
+    }
+
+    def 'interfaces with unsupported methods are rejected'() {
+        given:
+        def object = registry.create(AccountObject::new, 'account', null)
+
+        when:
+        registry.proxy(object, Blocking)
+
+        then:
+        thrown(DispatchingException)
+    }
+
+    def 'interfaces may redeclare methods of Object'() {
+        given:
+        def object = registry.create(AccountObject::new, 'account', null)
+
+        when:
+        def account = registry.proxy(object, DocumentedAccount)
+        account.deposit(3)
+
+        then:
+        account.toString() == 'DocumentedAccountProxy{id=account}'
+        account.equals(account)
+        account.hashCode() == System.identityHashCode(account)
+        account.balance().get(5, TimeUnit.SECONDS) == 3L
+    }
+
+    def 'generated proxies implement annotated interfaces'() {
+        given:
+        def object = registry.create(MeterObject::new, 'meter', null)
+        def meter = registry.proxy(object, Meter)
+
+        when:
+        meter.record('a', 1L, 2L)
+        meter.reset()
+        meter.record('b', 3L)
+        meter.record('c')
+
+        then:
+        meter.getClass().simpleName == 'MeterActiveProxy'
+        !Proxy.isProxyClass(meter.getClass())
+        Proxy.isProxyClass(registry.proxy(registry.create(AccountObject::new, 'account', null), Account).getClass())
+        meter.total().get(5, TimeUnit.SECONDS) == 3L
+        meter.names().toCompletableFuture().get(5, TimeUnit.SECONDS) == ['b', 'c']
+        meter.toString() == 'MeterProxy{id=meter}'
+    }
+
+    def 'calls of proxies reach the interface of objects which listen to messages'() {
+        given:
+        def object = registry.create(ListeningMeterObject::new, 'meter', null)
+        def generated = registry.proxy(object, Meter)
+        def runtime = registry.proxy(object, Recorder)
+
+        when:
+        generated.record('a', 1L)
+        runtime.record('b', 2L)
+        generated.reset()
+        runtime.record('c', 3L)
+        generated.record('d', 4L)
+
+        then:
+        generated.total().get(5, TimeUnit.SECONDS) == 7L
+        runtime.names().toCompletableFuture().get(5, TimeUnit.SECONDS) == ['c', 'd']
+        object.instance.messages.isEmpty()
+    }
+
+    interface Account {
+
+        void deposit(long amount)
+
+        CompletableFuture<Void> withdraw(long amount)
+
+        CompletableFuture<Long> balance()
+
+        CompletionStage<String> owner()
+    }
+
+    interface DocumentedAccount extends Account {
+
+        @Override
+        boolean equals(Object other)
+
+        @Override
+        int hashCode()
+
+        @Override
+        String toString()
+    }
+
+    interface Blocking {
+
+        long total()
+    }
+
+    static final class AccountObject implements DocumentedAccount {
+
+        private long balance
+
+        AccountObject(final Object id, final Object options) {
+        }
+
+        @Override
+        void deposit(final long amount) {
+            balance += amount
+        }
+
+        @Override
+        CompletableFuture<Void> withdraw(final long amount) {
+            if (amount > balance) {
+                throw new IllegalStateException('Insufficient funds')
+            }
+            balance -= amount
+            CompletableFuture.completedFuture(null)
+        }
+
+        @Override
+        CompletableFuture<Long> balance() {
+            CompletableFuture.completedFuture(balance)
+        }
+
+        @Override
+        CompletionStage<String> owner() {
+            null
+        }
+    }
+}
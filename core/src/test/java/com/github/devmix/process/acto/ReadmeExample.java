@@ -18,7 +18,7 @@
 
 package com.github.devmix.process.acto;
 
-import com.github.devmix.process.acto.core.context.DefaultActiveObjectContext;
+import com.github.devmix.process.acto.core.events.RingBufferLifecycleEventSink;
 import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher;
 import com.github.devmix.process.acto.fixtures.test.HelloWorldObject;
 import com.github.devmix.process.acto.fixtures.test.NodeFactory;
@@ -46,9 +46,6 @@ public class ReadmeExample {
     public static final int MESSAGES = 100_000;
 
     public static void main(final String[] args) throws ExecutionException, InterruptedException, IOException, TimeoutException {
-        // Enable debugging information for the DefaultActiveObjectContext
-        DefaultActiveObjectContext.DEBUGGING_INFO = true;
-
         // Create an instance of the Active Objects dispatcher
         final var r = new DefaultActiveObjectsDispatcher();
 
@@ -89,6 +86,9 @@ public class ReadmeExample {
         System.out.println(o1);
         System.out.println(o6);
 
+        // Print recent lifecycle transitions of all objects
+        ((RingBufferLifecycleEventSink) r.getLifecycleEventSink()).drain(System.out::println);
+
         // Perform a load test on NodeObject 'o6' with multiple threads sending HELLO messages
         load(o6);
 
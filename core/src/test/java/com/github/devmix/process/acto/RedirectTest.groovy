@@ -0,0 +1,127 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.exceptions.DispatchingException
+import com.github.devmix.process.acto.exceptions.RegistryException
+import com.github.devmix.process.acto.listeners.OnMessageListener
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class RedirectTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'cached recipients are dropped when an object is destroyed'() {
+        given:
+        def router = registry.create(RouterObject::new, 'router', null)
+        (1..20).each { registry.create(PeerObject::new, "p$it".toString(), 'v1') }
+
+        when:
+        def replies = (1..20).collect { route(router, "p$it", 'x') }
+        then:
+        replies == (1..20).collect { "p$it/v1:x".toString() }
+        route(router, 'p1', 'y') == 'p1/v1:y'
+
+        when:
+        registry.destroy('p1', false)
+        then:
+        route(router, 'p1', 'z') == 'unknown'
+
+        when:
+        registry.create(PeerObject::new, 'p1', 'v2')
+        then:
+        route(router, 'p1', 'z') == 'p1/v2:z'
+    }
+
+    def 'resolved handle stays valid until the object is destroyed'() {
+        given:
+        def router = registry.create(RouterObject::new, 'router', null)
+        def peer = registry.create(PeerObject::new, 'peer', 'v1')
+
+        when:
+        router.request(['resolve', 'peer']).get(5, TimeUnit.SECONDS)
+        then:
+        router.instance.handle.is(peer)
+        router.request(['handle', 'x']).get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS) == 'peer/v1:x'
+
+        when:
+        registry.destroy('peer', false)
+        router.request(['handle', 'y']).get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS)
+        then:
+        router.instance.handle.status == ActiveObjectStatus.DESTROYED
+        def e = thrown(ExecutionException)
+        e.cause instanceof DispatchingException
+    }
+
+    private static Object route(final ActiveObject<RouterObject> router, final String id, final String message) {
+        router.request(['route', id, message]).get(5, TimeUnit.SECONDS)
+    }
+
+    private static final class PeerObject implements OnMessageListener<PeerObject> {
+
+        final String tag
+
+        PeerObject(final Object id, final Object options) {
+            tag = "$id/$options"
+        }
+
+        @Override
+        Object onObjectMessage(final Object message, final ActiveObjectContext<PeerObject> context) {
+            "$tag:$message".toString()
+        }
+    }
+
+    private static final class RouterObject implements OnMessageListener<RouterObject> {
+
+        ActiveObject<?> handle
+
+        RouterObject(final Object id, final Object options) {
+        }
+
+        @Override
+        Object onObjectMessage(final Object message, final ActiveObjectContext<RouterObject> context) {
+            def (command, argument, payload) = message as List
+            switch (command) {
+                case 'resolve':
+                    handle = context.resolve(argument)
+                    return null
+                case 'handle':
+                    // the reply of the handle, a destroyed object fails it
+                    return context.redirectRequest(handle, argument)
+                default:
+                    try {
+                        return context.redirectRequest(argument, payload).get(5, TimeUnit.SECONDS)
+                    } catch (final RegistryException ignored) {
+                        return 'unknown'
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.listeners.OnSnapshotListener
+import com.github.devmix.process.acto.messages.AttributeGetter
+import com.github.devmix.process.acto.messages.Invoke
+import com.github.devmix.process.acto.messages.SnapshotGetter
+import com.github.devmix.process.acto.messages.Start
+import com.github.devmix.process.acto.messages.Stop
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class SnapshotTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'snapshot reads see completed writes without entering the mailbox'() {
+        given:
+        def object = registry.create(GaugeObject::new, 'gauge', null)
+        object.request(Start.standard()).get(5, TimeUnit.SECONDS)
+
+        when:
+        object.invoke({ it.value = 5 } as Invoke).get(5, TimeUnit.SECONDS)
+
+        then:
+        object.get({ it.value } as SnapshotGetter).getNow(null) == 5
+
+        when:
+        def release = new CountDownLatch(1)
+        object.invokeAnForget({ it.value = 7; release.await(5, TimeUnit.SECONDS) } as Invoke)
+        def plain = object.get({ it.value } as AttributeGetter)
+        def snapshot = object.get({ it.value } as SnapshotGetter).getNow(null)
+        release.countDown()
+
+        then:
+        snapshot == 5
+        plain.get(5, TimeUnit.SECONDS) == 7
+        object.get({ it.value } as SnapshotGetter).getNow(null) == 7
+    }
+
+    def 'snapshot reads of a stopped object go through the mailbox'() {
+        given:
+        def object = registry.create(GaugeObject::new, 'gauge', null)
+        object.request(Start.standard()).get(5, TimeUnit.SECONDS)
+
+        when:
+        object.request(Stop.force()).get(5, TimeUnit.SECONDS)
+        object.get({ it.value } as SnapshotGetter).get(5, TimeUnit.SECONDS)
+
+        then:
+        thrown(Exception)
+    }
+
+    static final class GaugeObject implements OnSnapshotListener<GaugeObject> {
+
+        volatile int value
+
+        GaugeObject(final Object id, final Object options) {
+        }
+
+        @Override
+        GaugeObject onObjectSnapshot(final ActiveObjectContext<GaugeObject> context) {
+            def copy = new GaugeObject(null, null)
+            copy.value = value
+            copy
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.context.ThroughputQuota
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.fixtures.GatedBatchObject
+import com.github.devmix.process.acto.fixtures.GatedObject
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class ThroughputTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'batch listener receives drained messages'() {
+        given:
+        def object = blocked('batch')
+
+        when:
+        def responses = ['a', 'b', 'c', 'd'].collect { object.request(it) }
+        object.instance.release.countDown()
+        then:
+        responses*.get(5, TimeUnit.SECONDS) == ['a!', 'b!', 'c!', 'd!']
+        object.instance.batches == [['block'], ['a', 'b', 'c', 'd']]
+    }
+
+    def 'batch size is limited by throughput quota'() {
+        given:
+        registry.throughputQuota = new ThroughputQuota(2, 0)
+        def object = blocked('batch')
+
+        when:
+        def responses = ['a', 'b', 'c', 'd', 'e'].collect { object.request(it) }
+        object.instance.release.countDown()
+        then:
+        responses*.get(5, TimeUnit.SECONDS) == ['a!', 'b!', 'c!', 'd!', 'e!']
+        object.instance.batches == [['block'], ['a'], ['b', 'c'], ['d', 'e']]
+    }
+
+    def 'failed batch fails all messages'() {
+        given:
+        def object = blocked('batch')
+
+        when:
+        def a = object.request('a')
+        def boom = object.request('boom')
+        object.instance.release.countDown()
+        a.get(5, TimeUnit.SECONDS)
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+
+        when:
+        boom.get(5, TimeUnit.SECONDS)
+        then:
+        thrown(ExecutionException)
+    }
+
+    def 'busy object yields the thread after its quota'() {
+        given:
+        def processed = new CopyOnWriteArrayList<Object>()
+        def executor = Executors.newFixedThreadPool(1)
+        def dispatcher = new DefaultActiveObjectsDispatcher(TimeUnit.MINUTES.toMillis(5), executor)
+        dispatcher.throughputQuota = new ThroughputQuota(2, 0)
+        dispatcher.registerFactory(GatedBatchObject.class, GatedBatchObject::new)
+        def busy = dispatcher.create(GatedBatchObject.class, 'busy', processed)
+        def other = dispatcher.create(GatedBatchObject.class, 'other', processed)
+
+        when:
+        busy.requestAndForget('block')
+        busy.instance.started.await(5, TimeUnit.SECONDS)
+        def responses = (1..6).collect { busy.request(it) }
+        other.instance.release.countDown()
+        def response = other.request('other')
+        busy.instance.release.countDown()
+        then:
+        response.get(5, TimeUnit.SECONDS) == 'other!'
+        responses.last().get(5, TimeUnit.SECONDS) == '6!'
+        processed.indexOf('other') < processed.indexOf(6)
+
+        cleanup:
+        dispatcher.shutdown(true)
+        executor.shutdownNow()
+    }
+
+    private ActiveObject<GatedBatchObject> blocked(final Object id) {
+        registry.registerFactory(GatedBatchObject.class, GatedBatchObject::new)
+        return GatedObject.block(registry.create(GatedBatchObject.class, id, null))
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto
+
+import com.github.devmix.process.acto.core.context.MessageHandlers
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.exceptions.DispatchingException
+import com.github.devmix.process.acto.listeners.OnMessage
+import com.github.devmix.process.acto.listeners.OnMessageListener
+import spock.lang.Specification
+
+import java.lang.ref.WeakReference
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class TypedHandlersTest extends Specification {
+
+    def registry = new DefaultActiveObjectsDispatcher()
+
+    def cleanup() {
+        registry.shutdown(true)
+    }
+
+    def 'messages are dispatched to handlers of their classes'() {
+        given:
+        def counter = registry.create(CounterObject::new, 'counter', null)
+
+        expect:
+        request(counter, new Add(5)) == 5L
+        request(counter, new AddTwice(5)) == 15L
+        request(counter, new Reset()) == null
+        request(counter, 'name') == 'counter:name'
+        request(counter, new Add(1)) == 1L
+        request(counter, 42) == 'other:42'
+    }
+
+    def 'incorrect handlers fail registration of the factory'() {
+        when:
+        registry.registerFactory(BrokenObject, { id, options -> new BrokenObject() } as ActiveObjectFactory)
+
+        then:
+        thrown(DispatchingException)
+    }
+
+    def 'handlers are not kept by the cache once no object uses them'() {
+        given:
+        def handlers = new WeakReference(MessageHandlers.of(CounterObject))
+
+        when:
+        for (int i = 0; i < 10 && handlers.get() != null; i++) {
+            System.gc()
+            Thread.sleep(10)
+        }
+
+        then:
+        handlers.get() == null
+        !MessageHandlers.of(CounterObject).isEmpty()
+    }
+
+    private static Object request(final ActiveObject<?> object, final Object message) {
+        object.request(message).get(5, TimeUnit.SECONDS)
+    }
+
+    static class Add {
+        final long value
+
+        Add(final long value) {
+            this.value = value
+        }
+    }
+
+    static final class AddTwice extends Add {
+        AddTwice(final long value) {
+            super(value)
+        }
+    }
+
+    static final class Reset {
+    }
+
+    private static final class CounterObject implements OnMessageListener<CounterObject> {
+
+        long value
+
+        CounterObject(final Object id, final Object options) {
+        }
+
+        @OnMessage
+        private long onAdd(final Add message) {
+            value += message instanceof AddTwice ? message.value * 2 : message.value
+        }
+
+        @OnMessage
+        private void onReset(final Reset message) {
+            value = 0
+        }
+
+        @OnMessage
+        Object onText(final CharSequence message, final ActiveObjectContext<CounterObject> context) {
+            "${context.id}:$message".toString()
+        }
+
+        @Override
+        Object onObjectMessage(final Object message, final ActiveObjectContext<CounterObject> context) {
+            "other:$message".toString()
+        }
+    }
+
+    private static final class BrokenObject {
+
+        @OnMessage
+        void onNumber(final int message) {
+        }
+    }
+}
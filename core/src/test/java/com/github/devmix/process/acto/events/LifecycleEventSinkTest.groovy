@@ -0,0 +1,91 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.events
+
+import com.github.devmix.process.acto.ActiveObjectStatus
+import com.github.devmix.process.acto.core.events.LifecycleEvent
+import com.github.devmix.process.acto.core.events.LifecycleEventType
+import com.github.devmix.process.acto.core.events.RingBufferLifecycleEventSink
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.fixtures.EchoObject
+import com.github.devmix.process.acto.messages.Start
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+import static com.github.devmix.process.acto.core.events.LifecycleEvent.Phase.BEGIN
+import static com.github.devmix.process.acto.core.events.LifecycleEvent.Phase.END
+
+/**
+ * @author Sergey Grachev
+ */
+class LifecycleEventSinkTest extends Specification {
+
+    def 'ring buffer drains events in order'() {
+        given:
+        def sink = new RingBufferLifecycleEventSink(4)
+        def drained = []
+
+        when:
+        3.times { sink.accept(event(it)) }
+        then:
+        sink.drain { drained << it.objectId() } == 3
+        drained == [0, 1, 2]
+        sink.drain { drained << it.objectId() } == 0
+        sink.lostEvents == 0
+    }
+
+    def 'ring buffer overwrites oldest events'() {
+        given:
+        def sink = new RingBufferLifecycleEventSink(4)
+        def drained = []
+
+        when:
+        10.times { sink.accept(event(it)) }
+        then:
+        sink.snapshot()*.objectId() == [6, 7, 8, 9]
+        sink.drain { drained << it.objectId() } == 4
+        drained == [6, 7, 8, 9]
+        sink.lostEvents == 6
+    }
+
+    def 'dispatcher records lifecycle transitions'() {
+        given:
+        def registry = new DefaultActiveObjectsDispatcher()
+        def sink = new RingBufferLifecycleEventSink()
+        registry.lifecycleEventSink = sink
+        registry.registerFactory(EchoObject.class, EchoObject::new)
+
+        when:
+        registry.create(EchoObject.class, 'e:1', null).request(Start.standard()).get(5, TimeUnit.SECONDS)
+        def events = sink.snapshot()
+        then:
+        events*.type() == [LifecycleEventType.CREATE, LifecycleEventType.CREATE, LifecycleEventType.START, LifecycleEventType.START]
+        events*.phase() == [BEGIN, END, BEGIN, END]
+        events.last().status() == ActiveObjectStatus.STARTED
+        events.last().format().contains('START')
+
+        cleanup:
+        registry.shutdown(true)
+    }
+
+    private static LifecycleEvent event(final int id) {
+        return new LifecycleEvent(System.nanoTime(), id, LifecycleEventType.START, BEGIN, ActiveObjectStatus.CREATED, null)
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.fixtures;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.listeners.OnMessageBatchListener;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link GatedObject} which receives drained messages in batches and fails a whole batch containing {@link #MSG_BOOM}.
+ *
+ * @author Sergey Grachev
+ */
+@Getter
+public class GatedBatchObject extends GatedObject implements OnMessageBatchListener<GatedBatchObject> {
+
+    public static final String MSG_BOOM = "boom";
+
+    private final List<List<Object>> batches = new CopyOnWriteArrayList<>();
+
+    public GatedBatchObject(final Object id, @Nullable final Object options) {
+        super(id, options);
+    }
+
+    @Override
+    public List<?> onObjectMessages(final List<Object> messages, final ActiveObjectContext<GatedBatchObject> context) {
+        pass(messages);
+        if (messages.contains(MSG_BOOM)) {
+            throw new IllegalStateException(MSG_BOOM);
+        }
+        batches.add(new ArrayList<>(messages));
+        getProcessed().addAll(messages);
+        return messages.stream().map(message -> message + "!").toList();
+    }
+}
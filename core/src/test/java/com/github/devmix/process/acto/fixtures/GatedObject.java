@@ -0,0 +1,86 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.fixtures;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.listeners.OnMessageListener;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object whose dispatching task waits on the {@link #MSG_BLOCK} message until it is released, so the messages sent in
+ * the meantime stay in the mailbox. Every message is answered with itself followed by {@code !}.
+ *
+ * @author Sergey Grachev
+ */
+@Getter
+public class GatedObject implements OnMessageListener<GatedObject> {
+
+    public static final String MSG_BLOCK = "block";
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Object> processed;
+
+    /**
+     * Creates the object, processed messages are added to the options if they are a list shared by several objects.
+     */
+    public GatedObject(final Object id, @Nullable final Object options) {
+        //noinspection unchecked
+        this.processed = options instanceof List<?> list ? (List<Object>) list : new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Sends {@link #MSG_BLOCK} to the object and waits until its dispatching task is blocked.
+     */
+    public static <T extends GatedObject> ActiveObject<T> block(final ActiveObject<T> object) throws InterruptedException {
+        object.requestAndForget(MSG_BLOCK);
+        object.getInstance().getStarted().await(5, TimeUnit.SECONDS);
+        return object;
+    }
+
+    @Override
+    public Object onObjectMessage(final Object message, final ActiveObjectContext<GatedObject> context) {
+        pass(List.of(message));
+        processed.add(message);
+        return message + "!";
+    }
+
+    /**
+     * Blocks the calling dispatching task if the messages contain {@link #MSG_BLOCK}.
+     */
+    protected void pass(final List<Object> messages) {
+        if (!messages.contains(MSG_BLOCK)) {
+            return;
+        }
+
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
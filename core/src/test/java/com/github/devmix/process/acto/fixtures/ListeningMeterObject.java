@@ -0,0 +1,49 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.fixtures;
+
+import com.github.devmix.process.acto.ActiveObjectContext;
+import com.github.devmix.process.acto.listeners.OnMessageListener;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Meter which also listens to messages, calls of its proxies must still reach the methods of {@link Meter}.
+ *
+ * @author Sergey Grachev
+ */
+@Getter
+public class ListeningMeterObject extends MeterObject implements OnMessageListener<ListeningMeterObject> {
+
+    private final List<Object> messages = new CopyOnWriteArrayList<>();
+
+    public ListeningMeterObject(final Object id, final Object options) {
+        super(id, options);
+    }
+
+    @Nullable
+    @Override
+    public Object onObjectMessage(final Object message, final ActiveObjectContext<ListeningMeterObject> context) {
+        messages.add(message);
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.fixtures;
+
+import com.github.devmix.process.acto.ActiveObjectProxy;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface whose proxy is generated by the annotation processor when the tests are compiled.
+ *
+ * @author Sergey Grachev
+ */
+@ActiveObjectProxy
+public interface Meter extends Recorder {
+
+    void reset();
+
+    CompletableFuture<Long> total();
+
+    @Override
+    String toString();
+}
@@ -0,0 +1,62 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Object which sums recorded values and remembers their names.
+ *
+ * @author Sergey Grachev
+ */
+public class MeterObject implements Meter {
+
+    private final List<String> names = new ArrayList<>();
+    private long total;
+
+    public MeterObject(final Object id, final Object options) {
+    }
+
+    @Override
+    public void record(final String name, final long... values) {
+        names.add(name);
+        for (final var value : values) {
+            total += value;
+        }
+    }
+
+    @Override
+    public void reset() {
+        names.clear();
+        total = 0;
+    }
+
+    @Override
+    public CompletableFuture<Long> total() {
+        return CompletableFuture.completedFuture(total);
+    }
+
+    @Override
+    public CompletionStage<List<String>> names() {
+        return CompletableFuture.completedFuture(List.copyOf(names));
+    }
+}
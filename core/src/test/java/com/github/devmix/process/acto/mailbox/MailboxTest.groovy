@@ -0,0 +1,140 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.mailbox
+
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType
+import com.github.devmix.process.acto.core.mailbox.MailboxType
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class MailboxTest extends Specification {
+
+    def 'system entries are polled before regular entries'() {
+        given:
+        def mailbox = type.create('m:1')
+
+        when:
+        mailbox.offer(1)
+        mailbox.offer(2)
+        mailbox.offerFirst(0)
+
+        then:
+        mailbox.size() == 3
+        mailbox.poll() == 0
+        mailbox.poll() == 1
+        mailbox.poll() == 2
+        mailbox.poll() == null
+        mailbox.isEmpty()
+
+        where:
+        type << MailboxType.values()
+    }
+
+    def 'poll with timeout returns entry offered by another thread'() {
+        given:
+        def mailbox = type.create('m:1')
+        def executor = Executors.newSingleThreadScheduledExecutor()
+
+        when:
+        executor.schedule({ mailbox.offer('late') }, 50, TimeUnit.MILLISECONDS)
+
+        then:
+        mailbox.poll(5, TimeUnit.SECONDS) == 'late'
+        mailbox.poll(10, TimeUnit.MILLISECONDS) == null
+
+        cleanup:
+        executor.shutdownNow()
+
+        where:
+        type << MailboxType.values()
+    }
+
+    def 'keeps order of every producer'() {
+        given:
+        def producers = 8
+        def messages = 10_000
+        def mailbox = type.create('m:1')
+        def executor = Executors.newFixedThreadPool(producers)
+        def start = new CountDownLatch(1)
+
+        when:
+        producers.times { producer ->
+            executor.submit {
+                start.await()
+                for (def i = 0; i < messages; i++) {
+                    mailbox.offer([producer, i] as int[])
+                }
+            }
+        }
+        start.countDown()
+
+        def last = new int[producers]
+        Arrays.fill(last, -1)
+        def received = 0
+        def ordered = true
+        while (received < producers * messages) {
+            def entry = mailbox.poll(5, TimeUnit.SECONDS) as int[]
+            if (entry == null) {
+                break
+            }
+            ordered &= entry[1] == last[entry[0]] + 1
+            last[entry[0]] = entry[1]
+            received++
+        }
+
+        then:
+        ordered
+        received == producers * messages
+        mailbox.isEmpty()
+
+        cleanup:
+        executor.shutdownNow()
+
+        where:
+        type << MailboxType.values()
+    }
+
+    def 'idle strategy waits for the next entry'() {
+        given:
+        def mailbox = MailboxType.MPSC.create('m:1')
+        def executor = Executors.newSingleThreadScheduledExecutor()
+
+        when:
+        executor.schedule({ mailbox.offer('late') }, 50, TimeUnit.MILLISECONDS)
+        def entry = strategy.await(mailbox, 5, TimeUnit.SECONDS)
+
+        then:
+        entry == expected
+
+        cleanup:
+        executor.shutdownNow()
+
+        where:
+        strategy                     | expected
+        IdleStrategyType.RESCHEDULE  | null
+        IdleStrategyType.BACKOFF     | 'late'
+        IdleStrategyType.PARK        | 'late'
+    }
+}
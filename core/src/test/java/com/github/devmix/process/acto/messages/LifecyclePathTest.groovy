@@ -0,0 +1,93 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.messages
+
+import com.github.devmix.process.acto.ActiveObject
+import com.github.devmix.process.acto.core.utils.ObjectInfoUtils
+import spock.lang.Specification
+
+/**
+ * @author Sergey Grachev
+ */
+class LifecyclePathTest extends Specification {
+
+    def 'path shares parent and finds visited IDs'() {
+        given:
+        def objects = (0..<200).collect { i -> Stub(ActiveObject) { getId() >> "o:$i".toString() } }
+
+        when:
+        def path = null as LifecyclePath
+        objects.each { path = LifecyclePath.extend(path, it) }
+        def branch = LifecyclePath.extend(path.parent, Stub(ActiveObject) { getId() >> 'other' })
+
+        then:
+        path.length == 200
+        branch.length == 200
+        branch.parent.is(path.parent)
+        (0..<200).every { path.contains("o:$it".toString()) }
+        !path.contains('other')
+        !path.contains('o:200')
+        branch.contains('other')
+        !branch.contains('o:199')
+        path.ids().toList() == (0..<200).collect { "o:$it".toString() }
+        path.toList() == objects
+    }
+
+    def 'branches of start and stop do not see each other'() {
+        given:
+        def root = Stub(ActiveObject) { getId() >> 'root' }
+        def left = Stub(ActiveObject) { getId() >> 'left' }
+        def right = Stub(ActiveObject) { getId() >> 'right' }
+
+        when:
+        def start = Start.standard()
+        start.starting(root)
+        def leftStart = Start.downstream(root, start, false)
+        def rightStart = Start.downstream(root, start, true)
+        leftStart.starting(left)
+        rightStart.starting(right)
+
+        then:
+        leftStart.isVisited('root')
+        leftStart.isVisited('left')
+        !leftStart.isVisited('right')
+        rightStart.isVisited('right')
+        !rightStart.isVisited('left')
+        !start.isVisited('left')
+        leftStart.chain == [root, left]
+        ObjectInfoUtils.unrollChain(leftStart.path) == '[root > left]'
+
+        when:
+        def stop = Stop.force()
+        stop.stopping(root)
+        def leftStop = Stop.upstream(root, stop)
+        def rightStop = Stop.upstream(root, stop)
+        leftStop.stopping(left)
+        rightStop.stopping(right)
+
+        then:
+        leftStop.force
+        leftStop.isVisited('root')
+        !leftStop.isVisited('right')
+        !rightStop.isVisited('left')
+        rightStop.chain == [root, right]
+        Stop.nonBlocked().chain == null
+        !Stop.nonBlocked().isVisited('root')
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.metrics
+
+import com.github.devmix.process.acto.core.metrics.LogHistogram
+import com.github.devmix.process.acto.core.metrics.StripedMetricsFactory
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.fixtures.EchoObject
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class MetricsTest extends Specification {
+
+    def 'histogram estimates percentiles'() {
+        given:
+        def histogram = new LogHistogram(4)
+
+        when:
+        (1..1000).each { histogram.record(it) }
+        def snapshot = histogram.snapshot()
+        then:
+        snapshot.count() == 1000
+        snapshot.max() == 1000
+        snapshot.mean() == 500.5d
+        snapshot.valueAtPercentile(50) >= 500
+        snapshot.valueAtPercentile(50) < 500 * 1.25
+        snapshot.valueAtPercentile(99) >= 990
+        snapshot.valueAtPercentile(100) == 1000
+    }
+
+    def 'dispatcher records metrics of objects'() {
+        given:
+        def registry = new DefaultActiveObjectsDispatcher()
+        def metrics = new StripedMetricsFactory()
+        registry.metricsFactory = metrics
+        registry.registerFactory(EchoObject.class, EchoObject::new)
+        def object = registry.create(EchoObject.class, 'e:1', null)
+
+        when:
+        10.times { object.requestAndForget(EchoObject.MSG_PING) }
+        object.request(EchoObject.MSG_PING).get(5, TimeUnit.SECONDS)
+        def snapshot = metrics.snapshot('e:1')
+        def total = metrics.snapshot()
+        then:
+        snapshot.enqueued() == 11
+        snapshot.processed() == 11
+        snapshot.failed() == 0
+        snapshot.depth() == 0
+        snapshot.waitTime().count() == 11
+        snapshot.serviceTime().count() == 11
+        total.processed() == 11
+        metrics.snapshot('unknown') == null
+
+        cleanup:
+        registry.shutdown(true)
+    }
+
+    def 'metrics are disabled by default'() {
+        given:
+        def registry = new DefaultActiveObjectsDispatcher()
+        registry.registerFactory(EchoObject.class, EchoObject::new)
+
+        when:
+        def object = registry.create(EchoObject.class, 'e:1', null)
+        then:
+        !object.metrics.enabled
+
+        cleanup:
+        registry.shutdown(true)
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.partition
+
+import com.github.devmix.process.acto.ActiveObjectContext
+import com.github.devmix.process.acto.ActiveObjectStatus
+import com.github.devmix.process.acto.core.context.DefaultActiveObjectContext
+import com.github.devmix.process.acto.core.mailbox.IdleStrategyType
+import com.github.devmix.process.acto.core.partition.PartitionedExecutor
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.fixtures.EchoObject
+import com.github.devmix.process.acto.fixtures.EchoOptions
+import com.github.devmix.process.acto.listeners.OnMessageListener
+import com.github.devmix.process.acto.messages.Start
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class PartitionedExecutorTest extends Specification {
+
+    def executor = new PartitionedExecutor(2, { id -> id.toString().startsWith('a') ? 0 : 1 })
+    def registry = DefaultActiveObjectsDispatcher.partitioned(TimeUnit.MINUTES.toMillis(5), executor)
+
+    def cleanup() {
+        registry.shutdown(true)
+        executor.shutdown()
+    }
+
+    def 'objects always run on the loop of their partition'() {
+        given:
+        def a1 = registry.create(EchoObject::new, 'a1', null)
+        def a2 = registry.create(EchoObject::new, 'a2', null)
+        def b1 = registry.create(EchoObject::new, 'b1', null)
+
+        when:
+        def threads = [a1, a2, b1].collectEntries { object ->
+            [object.id, (1..20).collect { object.get({ Thread.currentThread().name }).get(5, TimeUnit.SECONDS) } as Set]
+        }
+        then:
+        executor.partitionOf('a1') == 0
+        executor.partitionOf('b1') == 1
+        threads['a1'].size() == 1
+        threads['a1'] == threads['a2']
+        threads['a1'] != threads['b1']
+    }
+
+    def 'objects of the same partition wait for each other without deadlock'() {
+        given:
+        def a1 = registry.create(EchoObject::new, 'a1', new EchoOptions(['a2'], null))
+        def a2 = registry.create(EchoObject::new, 'a2', new EchoOptions(['b1'], null))
+        def b1 = registry.create(EchoObject::new, 'b1', new EchoOptions(null, null))
+
+        when:
+        a1.request(Start.standard()).get(10, TimeUnit.SECONDS)
+        then:
+        [a1, a2, b1]*.status == [ActiveObjectStatus.STARTED] * 3
+    }
+
+    def 'request redirected within the partition runs inline'() {
+        given:
+        def a = registry.create(HopObject::new, 'a1', null)
+        def b = registry.create(HopObject::new, 'a2', null)
+        [a, b]*.request(Start.standard())*.get(5, TimeUnit.SECONDS)
+
+        when:
+        def result = a.request('a2').get(5, TimeUnit.SECONDS)
+        then:
+        result == 'a2'
+        a.instance.threads == b.instance.threads
+        b.instance.inline
+    }
+
+    def 'waiting idle strategies are rejected'() {
+        when:
+        registry.setIdleStrategy(IdleStrategyType.PARK)
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        registry.registerIdleStrategy(EchoObject, IdleStrategyType.BACKOFF)
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        def object = registry.create(EchoObject::new, 'a1', null) as DefaultActiveObjectContext
+        object.setIdleStrategy(IdleStrategyType.PARK)
+        then:
+        thrown(IllegalArgumentException)
+        registry.idleStrategy == IdleStrategyType.RESCHEDULE
+    }
+
+    def 'shutdownNow returns the tasks which have never run'() {
+        given:
+        def loops = new PartitionedExecutor(1)
+        def started = new CountDownLatch(1)
+        def interrupted = new CountDownLatch(1)
+        loops.execute {
+            started.countDown()
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1))
+            } catch (final InterruptedException ignored) {
+                interrupted.countDown()
+            }
+        }
+        started.await(5, TimeUnit.SECONDS)
+        def waiting = (1..3).collect { { -> } as Runnable }
+        waiting.each { loops.execute(it) }
+
+        when:
+        def drained = loops.shutdownNow()
+        then:
+        drained == waiting
+        interrupted.await(5, TimeUnit.SECONDS)
+        loops.awaitTermination(5, TimeUnit.SECONDS)
+        loops.terminated
+    }
+
+    private static final class HopObject implements OnMessageListener<HopObject> {
+
+        final Set<String> threads = new HashSet<>()
+        boolean inline
+
+        HopObject(final Object id, final Object options) {
+        }
+
+        @Override
+        Object onObjectMessage(final Object message, final ActiveObjectContext<HopObject> context) {
+            threads << Thread.currentThread().name
+            if (message == context.id) {
+                inline = Thread.currentThread().stackTrace.any { it.methodName == 'tryProcessInline' }
+                return context.id
+            }
+            // completed already if the request has been processed inline
+            return context.redirectRequest(message, message).getNow(null)
+        }
+    }
+}
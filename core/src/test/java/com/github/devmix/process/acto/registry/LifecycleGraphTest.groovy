@@ -0,0 +1,125 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.registry
+
+import com.github.devmix.process.acto.core.context.DefaultActiveObjectContext
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.exceptions.DependencyException
+import com.github.devmix.process.acto.fixtures.EchoObject
+import com.github.devmix.process.acto.fixtures.EchoOptions
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+
+import static com.github.devmix.process.acto.ActiveObjectStatus.CREATED
+import static com.github.devmix.process.acto.ActiveObjectStatus.STARTED
+import static com.github.devmix.process.acto.ActiveObjectStatus.STOPPED
+import static com.github.devmix.process.acto.ActiveObjectsTestUtils.allWithStatus
+
+/**
+ * @author Sergey Grachev
+ */
+class LifecycleGraphTest extends Specification {
+
+    def 'start and stop all objects by dependency levels'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+
+        def o1 = r.create(EchoObject::new, "e:1", new EchoOptions(["e:2", "e:3"], null)) as DefaultActiveObjectContext
+        def o2 = r.create(EchoObject::new, "e:2", new EchoOptions(["e:4"], null)) as DefaultActiveObjectContext
+        def o3 = r.create(EchoObject::new, "e:3", new EchoOptions(["e:4"], null)) as DefaultActiveObjectContext
+        def o4 = r.create(EchoObject::new, "e:4", new EchoOptions(null, null)) as DefaultActiveObjectContext
+
+        when:
+        def report = r.startAll(10, TimeUnit.SECONDS)
+
+        then:
+        report.success
+        report.results['e:4'].level == 0
+        report.results['e:2'].level == 1
+        report.results['e:3'].level == 1
+        report.results['e:1'].level == 2
+        allWithStatus(STARTED, o1, o2, o3, o4)
+        o4.findRequiredFor('e:2') != null
+        o4.findRequiredFor('e:3') != null
+
+        when:
+        report = r.stopAll(false, 10, TimeUnit.SECONDS)
+
+        then:
+        report.success
+        allWithStatus(STOPPED, o1, o2, o3, o4)
+
+        cleanup:
+        r.shutdown(true)
+    }
+
+    def 'objects of dependency cycle are reported and not started'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+
+        def o1 = r.create(EchoObject::new, "e:1", new EchoOptions(["e:2"], null)) as DefaultActiveObjectContext
+        def o2 = r.create(EchoObject::new, "e:2", new EchoOptions(["e:1"], null)) as DefaultActiveObjectContext
+        def o3 = r.create(EchoObject::new, "e:3", new EchoOptions(null, null)) as DefaultActiveObjectContext
+
+        when:
+        def report = r.startAll(10, TimeUnit.SECONDS)
+
+        then:
+        !report.success
+        report.failures().keySet() == ['e:1', 'e:2'] as Set
+        report.failures().values().every { it instanceof DependencyException }
+        allWithStatus(CREATED, o1, o2)
+        o3.status == STARTED
+
+        when:
+        r.shutdown(true)
+
+        then:
+        r.findById('e:1') == null
+        r.findById('e:2') == null
+        r.findById('e:3') == null
+    }
+
+    def 'shutdown destroys all objects within deadline and stops own executor'() {
+        given:
+        def r = new DefaultActiveObjectsDispatcher()
+        def ids = (1..100).collect { "e:$it".toString() }
+        ids.eachWithIndex { id, i ->
+            r.create(EchoObject::new, id, new EchoOptions(i % 10 == 0 ? null : [ids[i - i % 10]], null))
+        }
+        r.startAll(10, TimeUnit.SECONDS)
+
+        when:
+        def report = r.shutdown(false, 10, TimeUnit.SECONDS)
+
+        then:
+        report.success
+        report.results.size() == 100
+        ids.every { r.findById(it) == null }
+        (r.@executor as ExecutorService).terminated
+
+        when:
+        report = r.shutdown(false, 1, TimeUnit.SECONDS)
+
+        then:
+        report.results.isEmpty()
+    }
+}
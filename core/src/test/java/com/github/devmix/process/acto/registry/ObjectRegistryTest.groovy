@@ -0,0 +1,138 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.registry
+
+import com.github.devmix.process.acto.ActiveObjectFactory
+import com.github.devmix.process.acto.core.registry.DefaultActiveObjectsDispatcher
+import com.github.devmix.process.acto.core.registry.ObjectRegistry
+import com.github.devmix.process.acto.exceptions.RegistryException
+import com.github.devmix.process.acto.fixtures.EchoObject
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class ObjectRegistryTest extends Specification {
+
+    def 'registry keeps values by IDs'() {
+        given:
+        ObjectRegistry<Object> registry = factory.call()
+        def ids = (0..<10_000).collect { toId.call(it) }
+
+        when:
+        ids.each { assert registry.putIfAbsent(it, "v$it") == null }
+        then:
+        registry.size() == 10_000
+        ids.every { registry.get(it) == "v$it" }
+        registry.putIfAbsent(ids[0], 'other') == "v${ids[0]}"
+
+        when:
+        ids.eachWithIndex { id, i -> if (i % 2 == 0) assert registry.remove(id, "v$id") }
+        then:
+        registry.size() == 5_000
+        (0..<10_000).every { registry.get(ids[it]) == (it % 2 == 0 ? null : "v${ids[it]}") }
+        !registry.remove(ids[1], 'other')
+        registry.replace(ids[1], "v${ids[1]}", 'new')
+        registry.get(ids[1]) == 'new'
+
+        when:
+        def values = []
+        registry.forEach { values << it }
+        then:
+        values.size() == 5_000
+
+        where:
+        factory                                 | toId
+        { -> ObjectRegistry.forObjects() }      | { int i -> List.of(i) }
+        { -> ObjectRegistry.forStrings() }      | { int i -> 'id:' + i }
+        { -> ObjectRegistry.forLongs() }        | { int i -> (long) i << 20 }
+        { -> ObjectRegistry.forInts() }         | { int i -> i * 31 }
+    }
+
+    def 'removed IDs can be added again'() {
+        given:
+        ObjectRegistry<Object> registry = ObjectRegistry.forLongs()
+
+        when:
+        1000.times {
+            assert registry.putIfAbsent(1L, it) == null
+            assert registry.remove(1L, it)
+        }
+        then:
+        registry.size() == 0
+        registry.get(1L) == null
+    }
+
+    def 'registry of primitive IDs rejects IDs of other types'() {
+        given:
+        ObjectRegistry<Object> registry = ObjectRegistry.forLongs()
+        registry.putIfAbsent(1L, 'v')
+
+        expect:
+        registry.get(1) == null
+        !registry.remove(1, 'v')
+        registry.get(1L) == 'v'
+
+        when:
+        registry.putIfAbsent(1, 'v')
+        then:
+        thrown(RegistryException)
+    }
+
+    def 'slow factory does not block creation of other objects'() {
+        given:
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+        def dispatcher = new DefaultActiveObjectsDispatcher(TimeUnit.MINUTES.toMillis(5), executor, ObjectRegistry.forLongs())
+        def entered = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def echo = { id, options -> new EchoObject(String.valueOf(id), null) } as ActiveObjectFactory
+        def slowEcho = { id, options ->
+            entered.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            new EchoObject(String.valueOf(id), null)
+        } as ActiveObjectFactory
+
+        when:
+        def slow = executor.submit { dispatcher.create(slowEcho, 1L, null) }
+        entered.await(5, TimeUnit.SECONDS)
+        then:
+        dispatcher.create(echo, 2L, null) != null
+        dispatcher.findById(1L) == null
+
+        when:
+        dispatcher.create(echo, 1L, null)
+        then:
+        thrown(RegistryException)
+
+        when:
+        release.countDown()
+        slow.get(5, TimeUnit.SECONDS)
+        then:
+        dispatcher.findById(1L) != null
+        dispatcher.findById(2L) != null
+
+        cleanup:
+        dispatcher.shutdown(true)
+        executor.shutdownNow()
+    }
+}
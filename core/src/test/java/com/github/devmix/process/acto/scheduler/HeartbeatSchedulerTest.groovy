@@ -0,0 +1,80 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.scheduler
+
+import com.github.devmix.process.acto.core.scheduler.HeartbeatScheduler
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author Sergey Grachev
+ */
+class HeartbeatSchedulerTest extends Specification {
+
+    def 'tasks run in order of deadlines'() {
+        given:
+        def scheduler = new HeartbeatScheduler(1)
+        def fired = new CopyOnWriteArrayList()
+        def latch = new CountDownLatch(3)
+        def now = System.nanoTime()
+
+        when:
+        [3, 1, 2].each { n ->
+            scheduler.schedule({ fired << n; latch.countDown() }, now + TimeUnit.MILLISECONDS.toNanos(n * 50))
+        }
+        then:
+        latch.await(5, TimeUnit.SECONDS)
+        fired == [1, 2, 3]
+
+        cleanup:
+        scheduler.close()
+    }
+
+    def 'task is not run before its deadline'() {
+        given:
+        def scheduler = new HeartbeatScheduler(1)
+        def latch = new CountDownLatch(1)
+        def start = System.nanoTime()
+        long firedAt = 0
+
+        when:
+        scheduler.schedule({ firedAt = System.nanoTime(); latch.countDown() }, start + TimeUnit.MILLISECONDS.toNanos(100))
+        then:
+        latch.await(5, TimeUnit.SECONDS)
+        firedAt - start >= TimeUnit.MILLISECONDS.toNanos(100)
+
+        cleanup:
+        scheduler.close()
+    }
+
+    def 'closed scheduler discards pending tasks'() {
+        given:
+        def scheduler = new HeartbeatScheduler(1)
+        def latch = new CountDownLatch(1)
+
+        when:
+        scheduler.schedule({ latch.countDown() }, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100))
+        scheduler.close()
+        then:
+        !latch.await(300, TimeUnit.MILLISECONDS)
+    }
+}
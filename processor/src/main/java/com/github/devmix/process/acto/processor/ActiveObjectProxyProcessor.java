@@ -0,0 +1,189 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.processor;
+
+import com.github.devmix.process.acto.ActiveObjectProxy;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Generates proxies of interfaces marked with {@link ActiveObjectProxy}. Methods follow the rules of runtime proxies:
+ * they must return void, {@link CompletableFuture} or {@link CompletionStage}, redeclared methods of {@link Object}
+ * are not proxied. Interfaces which cannot be implemented by a generated class, private or generic ones, are skipped
+ * with a warning and are served by runtime proxies.
+ *
+ * @author Sergey Grachev
+ */
+@SupportedAnnotationTypes("com.github.devmix.process.acto.ActiveObjectProxy")
+public final class ActiveObjectProxyProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        for (final var element : round.getElementsAnnotatedWith(ActiveObjectProxy.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error("@ActiveObjectProxy can only be applied to interfaces", element);
+            } else if (isPrivate(element)) {
+                warning("Proxy is not generated for a private interface, a runtime proxy is used instead", element);
+            } else {
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void error(final String message, final Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void generate(final TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            warning("Proxy is not generated for a generic interface, a runtime proxy is used instead", type);
+            return;
+        }
+
+        final var methods = proxyMethods(type);
+        if (methods == null) {
+            return;
+        }
+
+        final var writer = new ProxySourceWriter(processingEnv.getElementUtils(), type, methods);
+        try (final var out = processingEnv.getFiler().createSourceFile(writer.getQualifiedName(), type).openWriter()) {
+            out.write(writer.write());
+        } catch (final IOException e) {
+            error("Proxy cannot be generated: " + e.getMessage(), type);
+        }
+    }
+
+    private boolean isFuture(final ExecutableType method) {
+        final var returnType = method.getReturnType();
+        if (returnType.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final var name = ((TypeElement) ((DeclaredType) returnType).asElement()).getQualifiedName();
+        return name.contentEquals(CompletableFuture.class.getName())
+                || name.contentEquals(CompletionStage.class.getName());
+    }
+
+    private boolean isObjectMethod(final ExecutableElement method) {
+        final var types = processingEnv.getTypeUtils();
+        final var object = processingEnv.getElementUtils().getTypeElement(Object.class.getName());
+        for (final var candidate : ElementFilter.methodsIn(object.getEnclosedElements())) {
+            if (candidate.getModifiers().contains(Modifier.PUBLIC)
+                    && candidate.getSimpleName().equals(method.getSimpleName())
+                    && candidate.getParameters().size() == method.getParameters().size()) {
+                var same = true;
+                for (var i = 0; i < method.getParameters().size() && same; i++) {
+                    same = types.isSameType(types.erasure(candidate.getParameters().get(i).asType()),
+                            types.erasure(method.getParameters().get(i).asType()));
+                }
+                if (same) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isPrivate(final Element element) {
+        for (var current = element; current != null && current.getKind() != ElementKind.PACKAGE;
+             current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns methods of the interface to implement, or null if the interface is not supported.
+     */
+    private List<ProxySourceWriter.Method> proxyMethods(final TypeElement type) {
+        final var types = processingEnv.getTypeUtils();
+        final var declared = (DeclaredType) type.asType();
+        final var result = new ArrayList<ProxySourceWriter.Method>();
+        final var signatures = new HashSet<String>();
+        var supported = true;
+
+        for (final var method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            final var modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE || isObjectMethod(method)) {
+                continue;
+            }
+
+            // methods of generic super interfaces are seen with the type arguments of this interface
+            final var executable = (ExecutableType) types.asMemberOf(declared, method);
+            if (!signatures.add(method.getSimpleName() + types.erasure(executable).toString())) {
+                continue;
+            }
+
+            final var source = method.getEnclosingElement().equals(type) ? method : type;
+            if (!method.getTypeParameters().isEmpty()) {
+                warning("Proxy is not generated for an interface with generic method " + method
+                        + ", a runtime proxy is used instead", source);
+                return null;
+            }
+
+            final var future = isFuture(executable);
+            if (executable.getReturnType().getKind() != TypeKind.VOID && !future) {
+                error("Proxy method must return void, CompletableFuture or CompletionStage: " + method, source);
+                supported = false;
+                continue;
+            }
+
+            final var parameters = new ArrayList<ProxySourceWriter.Parameter>();
+            for (var i = 0; i < method.getParameters().size(); i++) {
+                parameters.add(new ProxySourceWriter.Parameter(method.getParameters().get(i).getSimpleName().toString(),
+                        executable.getParameterTypes().get(i)));
+            }
+            result.add(new ProxySourceWriter.Method(method.getSimpleName().toString(), executable.getReturnType(),
+                    parameters, future, method.isVarArgs()));
+        }
+        return supported ? result : null;
+    }
+
+    private void warning(final String message, final Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+}
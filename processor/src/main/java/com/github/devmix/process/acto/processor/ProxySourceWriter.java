@@ -0,0 +1,209 @@
+/*
+ * devMix · Process · Active Objects [ActO]
+ * Copyright (C) 2025, Sergey Grachev <sergey.grachev@yahoo.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.github.devmix.process.acto.processor;
+
+import com.github.devmix.process.acto.ActiveObject;
+import com.github.devmix.process.acto.ActiveObjectProxy;
+import com.github.devmix.process.acto.messages.ProxyMessage;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.List;
+
+/**
+ * Writes the source of a proxy. Every method of the interface gets a nested {@link ProxyMessage} class with a final
+ * field per parameter which calls the method on the instance of the object, messages of methods without parameters
+ * are singletons. Types are written with qualified names, so the source needs no imports.
+ *
+ * @author Sergey Grachev
+ */
+final class ProxySourceWriter {
+
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\""
+            + ActiveObjectProxyProcessor.class.getName() + "\")";
+
+    private final TypeElement type;
+    private final List<Method> methods;
+    private final String packageName;
+    private final String simpleName;
+    private final String interfaceName;
+    private final StringBuilder out = new StringBuilder(4096);
+
+    ProxySourceWriter(final Elements elements, final TypeElement type, final List<Method> methods) {
+        this.type = type;
+        this.methods = methods;
+        this.packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final var binaryName = elements.getBinaryName(type).toString();
+        this.simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + ActiveObjectProxy.SUFFIX;
+        this.interfaceName = type.getQualifiedName().toString();
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String write() {
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+
+        final var objectType = ActiveObject.class.getName() + "<? extends " + interfaceName + ">";
+        line(0, GENERATED);
+        line(0, (type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "") + "final class " + simpleName
+                + " implements " + interfaceName + " {");
+        line(0, "");
+        line(1, "private final " + objectType + " object;");
+        line(0, "");
+        line(1, "public " + simpleName + "(final " + objectType + " object) {");
+        line(2, "this.object = java.util.Objects.requireNonNull(object, \"object\");");
+        line(1, "}");
+
+        for (var i = 0; i < methods.size(); i++) {
+            writeMethod(methods.get(i), messageName(methods.get(i), i));
+        }
+
+        line(0, "");
+        line(1, "@java.lang.Override");
+        line(1, "public java.lang.String toString() {");
+        line(2, "return \"" + type.getSimpleName() + "Proxy{id=\" + this.object.getId() + \"}\";");
+        line(1, "}");
+
+        line(0, "");
+        line(1, "@java.lang.SuppressWarnings(\"unchecked\")");
+        line(1, "private static java.util.concurrent.CompletionStage<java.lang.Object> unwrap("
+                + "final java.lang.Object result) {");
+        line(2, "return result != null ? (java.util.concurrent.CompletionStage<java.lang.Object>) result"
+                + " : java.util.concurrent.CompletableFuture.completedFuture(null);");
+        line(1, "}");
+
+        for (var i = 0; i < methods.size(); i++) {
+            writeMessage(methods.get(i), messageName(methods.get(i), i));
+        }
+
+        line(0, "}");
+        return out.toString();
+    }
+
+    private String arguments(final Method method, final String prefix) {
+        final var result = new StringBuilder();
+        for (final var parameter : method.parameters()) {
+            if (!result.isEmpty()) {
+                result.append(", ");
+            }
+            result.append(prefix).append(parameter.name());
+        }
+        return result.toString();
+    }
+
+    private void line(final int indent, final String text) {
+        if (!text.isEmpty()) {
+            out.append("    ".repeat(indent)).append(text);
+        }
+        out.append('\n');
+    }
+
+    private String messageName(final Method method, final int index) {
+        return Character.toUpperCase(method.name().charAt(0)) + method.name().substring(1) + index;
+    }
+
+    private String parameters(final List<Parameter> parameters, final boolean varArgs) {
+        final var result = new StringBuilder();
+        for (var i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            final var parameterType = parameters.get(i).type();
+            if (varArgs && i == parameters.size() - 1) {
+                result.append("final ").append(((ArrayType) parameterType).getComponentType()).append("...");
+            } else {
+                result.append("final ").append(parameterType);
+            }
+            result.append(' ').append(parameters.get(i).name());
+        }
+        return result.toString();
+    }
+
+    private void writeMessage(final Method method, final String name) {
+        final var parameters = method.parameters();
+        line(0, "");
+        line(1, "private static final class " + name + " implements " + ProxyMessage.class.getName()
+                + "<" + interfaceName + "> {");
+
+        if (parameters.isEmpty()) {
+            line(0, "");
+            line(2, "private static final " + name + " INSTANCE = new " + name + "();");
+        } else {
+            line(0, "");
+            for (final var parameter : parameters) {
+                line(2, "private final " + parameter.type() + " " + parameter.name() + ";");
+            }
+            line(0, "");
+            line(2, "private " + name + "(" + parameters(parameters, false) + ") {");
+            for (final var parameter : parameters) {
+                line(3, "this." + parameter.name() + " = " + parameter.name() + ";");
+            }
+            line(2, "}");
+        }
+
+        line(0, "");
+        line(2, "@java.lang.Override");
+        final var call = "instance." + method.name() + "(" + arguments(method, "this.") + ");";
+        line(2, "public java.lang.Object run(final " + interfaceName + " instance) throws java.lang.Exception {");
+        if (method.future()) {
+            line(3, "return " + call);
+        } else {
+            line(3, call);
+            line(3, "return null;");
+        }
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void writeMethod(final Method method, final String name) {
+        final var message = method.parameters().isEmpty()
+                ? name + ".INSTANCE"
+                : "new " + name + "(" + arguments(method, "") + ")";
+        final var declaration = method.name() + "(" + parameters(method.parameters(), method.varArgs()) + ") {";
+        line(0, "");
+        line(1, "@java.lang.Override");
+        if (method.future()) {
+            final var rawType = ((TypeElement) ((DeclaredType) method.returnType()).asElement()).getQualifiedName();
+            line(1, "@java.lang.SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            line(1, "public " + method.returnType() + " " + declaration);
+            line(2, "return (" + rawType + ") this.object.request(" + message + ")"
+                    + ".thenCompose(" + simpleName + "::unwrap);");
+        } else {
+            line(1, "public void " + declaration);
+            line(2, "this.object.requestAndForget(" + message + ");");
+        }
+        line(1, "}");
+    }
+
+    record Method(String name, TypeMirror returnType, List<Parameter> parameters, boolean future, boolean varArgs) {
+    }
+
+    record Parameter(String name, TypeMirror type) {
+    }
+}